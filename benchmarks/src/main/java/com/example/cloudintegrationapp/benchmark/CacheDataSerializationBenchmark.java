@@ -0,0 +1,116 @@
+package com.example.cloudintegrationapp.benchmark;
+
+import com.example.cloudintegrationapp.config.RedisConfig;
+import com.example.cloudintegrationapp.model.CacheData;
+import com.example.cloudintegrationapp.service.CacheDataCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of CacheData to and from its Redis value as done by RedisCacheService on
+ * every store and get, using the application's ObjectMapper configuration.
+ * decodeHeader is the cost of reading type and expiry without the content.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CacheDataSerializationBenchmark {
+    
+    /**
+     * session: a handful of fields; entity: a data entity with nested metadata;
+     * sheet: a cached Excel sheet of 1000 rows by 10 columns
+     */
+    @Param({"session", "entity", "sheet"})
+    public String payload;
+    
+    private CacheDataCodec codec;
+    private CacheData cacheData;
+    private String value;
+    
+    @Setup
+    public void setUp() throws Exception {
+        codec = new CacheDataCodec(new RedisConfig().objectMapper());
+        cacheData = new CacheData("CLD-20240101120000-ABC123-0001", payload.toUpperCase(), content(payload), 3600L);
+        cacheData.setMetadata("Stored via CacheDataSerializationBenchmark");
+        value = codec.encode(cacheData);
+    }
+    
+    @Benchmark
+    public String serialize() throws Exception {
+        return codec.encode(cacheData);
+    }
+    
+    @Benchmark
+    public CacheData deserialize() throws Exception {
+        return codec.decode(value);
+    }
+    
+    @Benchmark
+    public CacheData decodeHeader() throws Exception {
+        return codec.decodeHeader(value);
+    }
+    
+    private static Object content(String payload) {
+        switch (payload) {
+            case "session":
+                Map<String, Object> session = new LinkedHashMap<>();
+                session.put("userId", 12345);
+                session.put("sessionId", "sess_abc123");
+                session.put("theme", "dark");
+                session.put("language", "en");
+                return session;
+            case "entity":
+                Map<String, Object> entity = new LinkedHashMap<>();
+                entity.put("referenceId", "CLD-20240101120000-ABC123-0001");
+                entity.put("name", "Quarterly revenue report");
+                entity.put("description", "Revenue by region and product line for the last quarter");
+                entity.put("category", "REPORT");
+                entity.put("status", "ACTIVE");
+                entity.put("createdAt", "2024-01-01T12:00:00");
+                Map<String, Object> attributes = new LinkedHashMap<>();
+                for (int i = 0; i < 40; i++) {
+                    attributes.put("attribute" + i, "value-" + i);
+                }
+                entity.put("metadata", attributes);
+                return entity;
+            default:
+                List<String> headers = new ArrayList<>();
+                for (int column = 0; column < 10; column++) {
+                    headers.add("Column " + column);
+                }
+                List<Map<String, Object>> rows = new ArrayList<>();
+                for (int row = 0; row < 1000; row++) {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (int column = 0; column < headers.size(); column++) {
+                        values.put(headers.get(column), column % 2 == 0 ? "text " + row : String.valueOf(row * column));
+                    }
+                    rows.add(values);
+                }
+                Map<String, Object> sheet = new LinkedHashMap<>();
+                sheet.put("filename", "report.xlsx");
+                sheet.put("sheetName", "Sheet1");
+                sheet.put("headers", headers);
+                sheet.put("rows", rows);
+                sheet.put("rowCount", rows.size());
+                return sheet;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.cloudintegrationapp.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.cloudintegrationapp.service.HotPathLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an INFO line on a hot path: logged on every call as before, and through
+ * HotPathLogger with sampling. Output is formatted with the application's console
+ * pattern and written to a discarding stream, directly or behind an AsyncAppender.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+public class HotPathLoggingBenchmark {
+    
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} - %msg %kvp%n";
+    
+    @Param({"sync", "async"})
+    public String appender;
+    
+    private ch.qos.logback.classic.Logger logger;
+    private Appender<ILoggingEvent> attached;
+    private HotPathLogger hotPathLogger;
+    private HotPathLogger unsampledLogger;
+    
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+        attached = output;
+        
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.addAppender(output);
+            async.start();
+            attached = async;
+        }
+        
+        logger = context.getLogger("benchmark.hotpath");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(attached);
+        
+        hotPathLogger = new HotPathLogger(new SimpleMeterRegistry(), Duration.ofSeconds(10));
+        unsampledLogger = new HotPathLogger(new SimpleMeterRegistry(), Duration.ZERO);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        logger.detachAppender(attached);
+        attached.stop();
+    }
+    
+    @Benchmark
+    public void logEveryCall() {
+        logger.info("Stored data with reference ID: {} and TTL: {} seconds", "CLD-20240101120000-ABC123", 3600L);
+    }
+    
+    @Benchmark
+    public void hotPathUnsampled() {
+        unsampledLogger.info(logger, "cache.store", "Stored data with reference ID: {} and TTL: {} seconds",
+            "CLD-20240101120000-ABC123", 3600L);
+    }
+    
+    @Benchmark
+    public void hotPathSampled() {
+        hotPathLogger.info(logger, "cache.store", "Stored data with reference ID: {} and TTL: {} seconds",
+            "CLD-20240101120000-ABC123", 3600L);
+    }
+}
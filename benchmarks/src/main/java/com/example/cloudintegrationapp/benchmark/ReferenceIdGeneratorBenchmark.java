@@ -0,0 +1,60 @@
+package com.example.cloudintegrationapp.benchmark;
+
+import com.example.cloudintegrationapp.service.ReferenceIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference ID generation on one shared generator, alone and with threads contending
+ * for its sequence counter and SecureRandom
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReferenceIdGeneratorBenchmark {
+    
+    private ReferenceIdGenerator generator;
+    
+    @Setup
+    public void setUp() {
+        generator = new ReferenceIdGenerator();
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public String generateUncontended() {
+        return generator.generateReferenceId("CLD");
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public String generateContended() {
+        return generator.generateReferenceId("CLD");
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateContendedAllCores() {
+        return generator.generateReferenceId("CLD");
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public String generateUuidContended() {
+        return generator.generateUuidReferenceId("CLD");
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.cloudintegrationapp.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelProcessingService parsing of generated workbooks with string, numeric, boolean
+ * and date cells. Lives in the service package to reach the package-private parse methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ExcelParsingBenchmark {
+    
+    @Param({"100", "10000"})
+    public int rows;
+    
+    @Param({"10"})
+    public int columns;
+    
+    private ExcelProcessingService service;
+    private byte[] workbookBytes;
+    private Workbook workbook;
+    private Sheet sheet;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        service = new ExcelProcessingService();
+        workbookBytes = generateWorkbook(rows, columns);
+        workbook = new XSSFWorkbook(new ByteArrayInputStream(workbookBytes));
+        sheet = workbook.getSheetAt(0);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        workbook.close();
+    }
+    
+    /**
+     * Row and cell conversion only, on an already loaded sheet
+     */
+    @Benchmark
+    public Map<String, Object> parseSheet() {
+        return service.parseSheet(sheet, "Sheet1");
+    }
+    
+    /**
+     * Opening the .xlsx bytes plus parsing every sheet, as done for a downloaded file
+     */
+    @Benchmark
+    public Map<String, Object> parseWorkbook() throws Exception {
+        return service.parseExcelFile(workbookBytes, "generated.xlsx");
+    }
+    
+    private static byte[] generateWorkbook(int rows, int columns) throws Exception {
+        try (XSSFWorkbook generated = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet target = generated.createSheet("Sheet1");
+            CellStyle dateStyle = generated.createCellStyle();
+            dateStyle.setDataFormat(generated.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            
+            Row header = target.createRow(0);
+            for (int column = 0; column < columns; column++) {
+                header.createCell(column).setCellValue("Column " + column);
+            }
+            for (int row = 1; row <= rows; row++) {
+                Row data = target.createRow(row);
+                for (int column = 0; column < columns; column++) {
+                    Cell cell = data.createCell(column);
+                    switch (column % 4) {
+                        case 0 -> cell.setCellValue("text " + row);
+                        case 1 -> cell.setCellValue(row * 1.5);
+                        case 2 -> cell.setCellValue(row % 2 == 0);
+                        default -> {
+                            cell.setCellValue(new Date(1704067200000L + row * 86400000L));
+                            cell.setCellStyle(dateStyle);
+                        }
+                    }
+                }
+            }
+            generated.write(out);
+            return out.toByteArray();
+        }
+    }
+}
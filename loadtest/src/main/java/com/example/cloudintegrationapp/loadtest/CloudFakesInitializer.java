@@ -0,0 +1,24 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Registers the cloud fakes under the bean names of the real services. They are added as
+ * ready-made singletons, so Spring does not try to inject the SDK clients the real
+ * services depend on; gcp.enabled and azure.enabled stay false.
+ */
+public class CloudFakesInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+    
+    private final CloudLatency latency;
+    
+    public CloudFakesInitializer(CloudLatency latency) {
+        this.latency = latency;
+    }
+    
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        context.getBeanFactory().registerSingleton("gcpService", new FakeGcpService(latency));
+        context.getBeanFactory().registerSingleton("azureService", new FakeAzureService(latency));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Blocks the calling thread for a uniformly random time in [min, max], standing in for
+ * the network round trip of a cloud SDK call
+ */
+public class CloudLatency {
+    
+    private final long minNanos;
+    private final long maxNanos;
+    
+    public CloudLatency(Duration min, Duration max) {
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+    }
+    
+    public void pause() {
+        long nanos = minNanos == maxNanos ? minNanos : ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during simulated cloud call", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiFunction;
+
+/**
+ * Endpoints the load test can drive, named as in the --mix option
+ */
+public enum Endpoint {
+    
+    CACHE_STORE("cache-store", (workload, base) -> json(base, "/cache/store", workload.storeRequestBody())),
+    CACHE_RETRIEVE("cache-retrieve", (workload, base) -> get(base, "/cache/retrieve/" + workload.randomReferenceId())),
+    CACHE_REACTIVE_RETRIEVE("cache-reactive-retrieve",
+        (workload, base) -> get(base, "/cache/reactive/retrieve/" + workload.randomReferenceId())),
+    CACHE_STATS("cache-stats", (workload, base) -> get(base, "/cache/stats")),
+    CLOUD_STORE_DATA("cloud-store-data", (workload, base) -> json(base, "/cloud/store-data", workload.storeRequestBody())),
+    CLOUD_RETRIEVE_DATA("cloud-retrieve-data",
+        (workload, base) -> get(base, "/cloud/retrieve-data/" + workload.randomReferenceId())),
+    GCP_UPLOAD("gcp-upload", (workload, base) -> multipart(base, "/cloud/gcp/upload", workload.nextFileName(), workload.filePayload())),
+    GCP_DOWNLOAD("gcp-download", (workload, base) -> get(base, "/cloud/gcp/download/" + workload.randomSeededFileName())),
+    GCP_PUBSUB("gcp-pubsub", (workload, base) -> json(base, "/cloud/gcp/pubsub", workload.messageRequestBody())),
+    AZURE_UPLOAD("azure-upload", (workload, base) -> multipart(base, "/cloud/azure/upload", workload.nextFileName(), workload.filePayload())),
+    AZURE_QUEUE("azure-queue", (workload, base) -> json(base, "/cloud/azure/queue", workload.messageRequestBody()));
+    
+    private static final String BOUNDARY = "----loadtest-boundary";
+    
+    private final String name;
+    private final BiFunction<Workload, URI, HttpRequest> requestBuilder;
+    
+    Endpoint(String name, BiFunction<Workload, URI, HttpRequest> requestBuilder) {
+        this.name = name;
+        this.requestBuilder = requestBuilder;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public HttpRequest buildRequest(Workload workload, URI baseUri) {
+        return requestBuilder.apply(workload, baseUri);
+    }
+    
+    public static Endpoint fromName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+    }
+    
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + path)).GET().build();
+    }
+    
+    private static HttpRequest json(URI base, String path, String body) {
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+    
+    private static HttpRequest multipart(URI base, String path, String fileName, byte[] content) {
+        String head = "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n";
+        String tail = "\r\n--" + BOUNDARY + "--\r\n";
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + path))
+            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+            .POST(HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                HttpRequest.BodyPublishers.ofByteArray(content),
+                HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8)))
+            .build();
+    }
+}
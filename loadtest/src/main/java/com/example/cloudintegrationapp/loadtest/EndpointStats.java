@@ -0,0 +1,46 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and request counters of one endpoint, safe for concurrent recording
+ */
+public class EndpointStats {
+    
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    /**
+     * @param latencyNanos time from the request's scheduled start to its response
+     * @param success false for non-2xx responses and transport failures
+     */
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+    
+    public void recordDropped() {
+        dropped.increment();
+    }
+    
+    public Histogram getHistogram() {
+        return histogram;
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
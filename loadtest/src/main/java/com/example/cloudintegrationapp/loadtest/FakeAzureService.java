@@ -0,0 +1,63 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import com.example.cloudintegrationapp.integration.azure.AzureService;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory stand-in for Blob Storage, Queue Storage and Key Vault. Every call blocks for
+ * the simulated cloud latency, like the SDK's synchronous clients do.
+ */
+public class FakeAzureService extends AzureService {
+    
+    // Keeps the fake queue from growing without bound during long runs
+    private static final int MAX_QUEUED_MESSAGES = 100_000;
+    
+    private final CloudLatency latency;
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    
+    public FakeAzureService(CloudLatency latency) {
+        this.latency = latency;
+    }
+    
+    @Override
+    public String getSecret(String secretName) {
+        latency.pause();
+        return "fake-secret-" + secretName;
+    }
+    
+    @Override
+    public void uploadBlob(String blobName, byte[] data) {
+        latency.pause();
+        blobs.put(blobName, data);
+    }
+    
+    @Override
+    public byte[] downloadBlob(String blobName) {
+        latency.pause();
+        byte[] data = blobs.get(blobName);
+        if (data == null) {
+            throw new RuntimeException("Blob not found: " + blobName);
+        }
+        return data;
+    }
+    
+    @Override
+    public void sendQueueMessage(String message) {
+        latency.pause();
+        queue.add(message);
+        while (queue.size() > MAX_QUEUED_MESSAGES) {
+            queue.poll();
+        }
+    }
+    
+    @Override
+    public String receiveQueueMessage() {
+        latency.pause();
+        return queue.poll();
+    }
+}
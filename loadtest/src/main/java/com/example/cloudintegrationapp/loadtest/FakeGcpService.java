@@ -0,0 +1,77 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import com.example.cloudintegrationapp.integration.gcp.GcpService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for Cloud Storage and Pub/Sub. Every call blocks for the simulated
+ * cloud latency, like the SDK's synchronous calls do.
+ */
+public class FakeGcpService extends GcpService {
+    
+    private final CloudLatency latency;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicLong publishedMessages = new AtomicLong();
+    
+    public FakeGcpService(CloudLatency latency) {
+        this.latency = latency;
+    }
+    
+    @Override
+    public String getSecret(String secretName, String version) {
+        latency.pause();
+        return "fake-secret-" + secretName;
+    }
+    
+    @Override
+    public void uploadObject(String objectName, byte[] data) {
+        latency.pause();
+        objects.put(objectName, data);
+    }
+    
+    @Override
+    public byte[] downloadObject(String objectName) {
+        latency.pause();
+        byte[] data = objects.get(objectName);
+        if (data == null) {
+            throw new RuntimeException("Object not found: " + objectName);
+        }
+        return data;
+    }
+    
+    @Override
+    public void publishMessage(String message) {
+        latency.pause();
+        publishedMessages.incrementAndGet();
+    }
+    
+    @Override
+    public void subscribeToMessages() {
+        // Nothing is delivered back to the application
+    }
+    
+    @Override
+    public List<Map<String, Object>> listObjects() {
+        latency.pause();
+        List<Map<String, Object>> files = new ArrayList<>();
+        objects.forEach((name, data) -> files.add(Map.of("name", name, "path", name, "filename", name, "size", (long) data.length)));
+        return files;
+    }
+    
+    @Override
+    public void deleteObject(String objectName) {
+        latency.pause();
+        if (objects.remove(objectName) == null) {
+            throw new RuntimeException("Object not found or could not be deleted: " + objectName);
+        }
+    }
+    
+    public long getPublishedMessages() {
+        return publishedMessages.get();
+    }
+}
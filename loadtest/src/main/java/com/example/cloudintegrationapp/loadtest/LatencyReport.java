@@ -0,0 +1,76 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint, as a console table and optionally CSV
+ */
+public class LatencyReport {
+    
+    private static final String[] COLUMNS = {"endpoint", "requests", "errors", "dropped", "req_per_s",
+        "p50_ms", "p99_ms", "p99_9_ms", "max_ms"};
+    
+    private final List<Object[]> rows = new ArrayList<>();
+    
+    public LatencyReport(Map<Endpoint, EndpointStats> stats, Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        Histogram total = null;
+        long totalErrors = 0;
+        long totalDropped = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            rows.add(row(entry.getKey().getName(), endpointStats.getHistogram(), endpointStats.getErrors(),
+                endpointStats.getDropped(), seconds));
+            if (total == null) {
+                total = endpointStats.getHistogram().copy();
+            } else {
+                total.add(endpointStats.getHistogram());
+            }
+            totalErrors += endpointStats.getErrors();
+            totalDropped += endpointStats.getDropped();
+        }
+        if (total != null) {
+            rows.add(row("total", total, totalErrors, totalDropped, seconds));
+        }
+    }
+    
+    private static Object[] row(String name, Histogram histogram, long errors, long dropped, double seconds) {
+        return new Object[] {name, histogram.getTotalCount(), errors, dropped, histogram.getTotalCount() / seconds,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())};
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+    
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+            "%-26s %10s %8s %8s %10s %10s %10s %10s %10s%n", (Object[]) COLUMNS));
+        for (Object[] row : rows) {
+            table.append(String.format(Locale.ROOT, "%-26s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", row));
+        }
+        return table.toString();
+    }
+    
+    public void writeCsv(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", COLUMNS));
+        for (Object[] row : rows) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f", row));
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, lines);
+    }
+}
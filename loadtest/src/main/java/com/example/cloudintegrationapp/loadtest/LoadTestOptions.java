@@ -0,0 +1,110 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value
+ */
+public class LoadTestOptions {
+    
+    static final String DEFAULT_MIX = "cache-store=15,cache-retrieve=35,cache-reactive-retrieve=10,cloud-retrieve-data=10,"
+        + "cache-stats=2,gcp-upload=8,gcp-download=5,gcp-pubsub=5,azure-upload=5,azure-queue=5";
+    
+    // Requests started per second regardless of how many are still running
+    private double rate = 200;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private String mix = DEFAULT_MIX;
+    private int seedEntries = 1000;
+    private int payloadBytes = 4096;
+    private Duration cloudLatencyMin = Duration.ofMillis(20);
+    private Duration cloudLatencyMax = Duration.ofMillis(80);
+    private boolean virtualThreads = false;
+    private int maxInFlight = 10000;
+    private Path report;
+    
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        
+        LoadTestOptions options = new LoadTestOptions();
+        options.rate = Double.parseDouble(values.getOrDefault("rate", String.valueOf(options.rate)));
+        options.duration = duration(values, "duration", options.duration);
+        options.warmup = duration(values, "warmup", options.warmup);
+        options.mix = values.getOrDefault("mix", options.mix);
+        options.seedEntries = Integer.parseInt(values.getOrDefault("seed-entries", String.valueOf(options.seedEntries)));
+        options.payloadBytes = Integer.parseInt(values.getOrDefault("payload-bytes", String.valueOf(options.payloadBytes)));
+        options.cloudLatencyMin = duration(values, "cloud-latency-min", options.cloudLatencyMin);
+        options.cloudLatencyMax = duration(values, "cloud-latency-max", options.cloudLatencyMax);
+        options.virtualThreads = Boolean.parseBoolean(values.getOrDefault("virtual-threads", String.valueOf(options.virtualThreads)));
+        options.maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", String.valueOf(options.maxInFlight)));
+        options.report = values.containsKey("report") ? Path.of(values.get("report")) : null;
+        
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (options.cloudLatencyMax.compareTo(options.cloudLatencyMin) < 0) {
+            throw new IllegalArgumentException("cloud-latency-max must not be below cloud-latency-min");
+        }
+        return options;
+    }
+    
+    private static Duration duration(Map<String, String> values, String name, Duration defaultValue) {
+        return values.containsKey(name) ? DurationStyle.detectAndParse(values.get(name)) : defaultValue;
+    }
+    
+    public double getRate() {
+        return rate;
+    }
+    
+    public Duration getDuration() {
+        return duration;
+    }
+    
+    public Duration getWarmup() {
+        return warmup;
+    }
+    
+    public String getMix() {
+        return mix;
+    }
+    
+    public int getSeedEntries() {
+        return seedEntries;
+    }
+    
+    public int getPayloadBytes() {
+        return payloadBytes;
+    }
+    
+    public Duration getCloudLatencyMin() {
+        return cloudLatencyMin;
+    }
+    
+    public Duration getCloudLatencyMax() {
+        return cloudLatencyMax;
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public Path getReport() {
+        return report;
+    }
+}
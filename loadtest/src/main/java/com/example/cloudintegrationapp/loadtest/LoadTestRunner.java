@@ -0,0 +1,112 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import com.example.cloudintegrationapp.CloudIntegrationAppApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+/**
+ * Boots the application against an in-process Redis server and in-memory cloud fakes,
+ * seeds data, drives the configured traffic mix and prints latency per endpoint.
+ *
+ * <pre>
+ * java -jar loadtest/target/loadtest.jar --rate=500 --duration=2m --virtual-threads=true
+ * </pre>
+ */
+public class LoadTestRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+    
+    private static final int SEEDED_FILES = 20;
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Workload workload = new Workload(options.getMix(), options.getPayloadBytes());
+        
+        int redisPort = freePort();
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(CloudIntegrationAppApplication.class)
+                .initializers(new CloudFakesInitializer(
+                    new CloudLatency(options.getCloudLatencyMin(), options.getCloudLatencyMax())))
+                // Command line properties take precedence over application.yml
+                .run("--spring.profiles.active=dev",
+                    "--server.port=0",
+                    "--spring.data.redis.host=localhost",
+                    "--spring.data.redis.port=" + redisPort,
+                    "--spring.threads.virtual.enabled=" + options.isVirtualThreads(),
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.example.cloudintegrationapp=WARN");
+            
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            URI baseUri = URI.create("http://localhost:" + port + contextPath);
+            
+            seed(context, workload, options, baseUri);
+            
+            Map<Endpoint, EndpointStats> stats = new OpenModelDriver(options, workload, baseUri).run();
+            LatencyReport report = new LatencyReport(stats, options.getDuration());
+            System.out.printf("%nrate=%s req/s, duration=%s, virtual threads=%s, cloud latency=%s-%s%n%n",
+                options.getRate(), options.getDuration(), options.isVirtualThreads(),
+                options.getCloudLatencyMin(), options.getCloudLatencyMax());
+            System.out.print(report.toTable());
+            if (options.getReport() != null) {
+                report.writeCsv(options.getReport());
+                System.out.println("Report written to " + options.getReport());
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            redisServer.stop();
+        }
+    }
+    
+    /**
+     * Store the entries the retrieve endpoints read and the files the download endpoint serves
+     */
+    private static void seed(ConfigurableApplicationContext context, Workload workload, LoadTestOptions options, URI baseUri) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int i = 0; i < options.getSeedEntries(); i++) {
+                HttpResponse<String> response = client.send(
+                    Endpoint.CACHE_STORE.buildRequest(workload, baseUri), HttpResponse.BodyHandlers.ofString());
+                JsonNode referenceId = objectMapper.readTree(response.body()).get("referenceId");
+                if (response.statusCode() != 200 || referenceId == null) {
+                    throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+                }
+                workload.addReferenceId(referenceId.asText());
+            }
+        }
+        
+        // Files go straight into the fake; uploads under generated names are part of the mix
+        FakeGcpService gcpService = context.getBean("gcpService", FakeGcpService.class);
+        for (int i = 0; i < SEEDED_FILES; i++) {
+            String fileName = "seed-" + i + ".bin";
+            gcpService.uploadObject(fileName, workload.filePayload());
+            workload.addSeededFileName(fileName);
+        }
+        logger.warn("Seeded {} cache entries and {} files", workload.getReferenceIdCount(), SEEDED_FILES);
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
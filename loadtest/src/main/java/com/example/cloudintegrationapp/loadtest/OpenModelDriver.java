@@ -0,0 +1,114 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a fixed arrival schedule, independent of how fast responses come
+ * back (an open workload model). Latency is measured from the time a request was due, not
+ * when it was actually sent, so a stalled server shows up in the percentiles instead of
+ * silently slowing the load down.
+ */
+public class OpenModelDriver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelDriver.class);
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final URI baseUri;
+    
+    public OpenModelDriver(LoadTestOptions options, Workload workload, URI baseUri) {
+        this.options = options;
+        this.workload = workload;
+        this.baseUri = baseUri;
+    }
+    
+    /**
+     * Run the warmup, then the measured phase, and wait for outstanding requests
+     *
+     * @return stats of the measured phase per endpoint
+     */
+    public Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+        Semaphore inFlight = new Semaphore(options.getMaxInFlight());
+        try {
+            if (!options.getWarmup().isZero()) {
+                logger.warn("Warming up for {} at {} req/s", options.getWarmup(), options.getRate());
+                drive(client, inFlight, options.getWarmup(), newStats());
+            }
+            logger.warn("Measuring for {} at {} req/s", options.getDuration(), options.getRate());
+            Map<Endpoint, EndpointStats> stats = newStats();
+            drive(client, inFlight, options.getDuration(), stats);
+            return stats;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private Map<Endpoint, EndpointStats> newStats() {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : workload.getEndpoints()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        return stats;
+    }
+    
+    private void drive(HttpClient client, Semaphore inFlight, Duration phase, Map<Endpoint, EndpointStats> stats)
+            throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.getRate());
+        long start = System.nanoTime();
+        long end = start + phase.toNanos();
+        
+        for (long due = start; due < end; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            
+            Endpoint endpoint = workload.nextEndpoint();
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (!inFlight.tryAcquire()) {
+                // The server fell so far behind that the client would become the bottleneck
+                endpointStats.recordDropped();
+                continue;
+            }
+            
+            long scheduledAt = due;
+            HttpRequest request = endpoint.buildRequest(workload, baseUri);
+            client.sendAsync(HttpRequest.newBuilder(request, (name, value) -> true).timeout(REQUEST_TIMEOUT).build(),
+                    HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    endpointStats.record(System.nanoTime() - scheduledAt, success);
+                });
+        }
+        
+        // Let the phase's requests finish before its stats are read
+        if (!inFlight.tryAcquire(options.getMaxInFlight(), REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            logger.warn("Requests still outstanding after the phase ended");
+            return;
+        }
+        inFlight.release(options.getMaxInFlight());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.cloudintegrationapp.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weighted endpoint mix plus the request data it draws on: reference IDs and file names
+ * seeded before the run, and a fixed payload of the configured size
+ */
+public class Workload {
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final String storeRequestBody;
+    private final String messageRequestBody;
+    private final byte[] filePayload;
+    private final AtomicLong fileCounter = new AtomicLong();
+    private final List<String> referenceIds = new ArrayList<>();
+    private final List<String> seededFileNames = new ArrayList<>();
+    
+    public Workload(String mix, int payloadBytes) {
+        Map<Endpoint, Integer> weights = parseMix(mix);
+        this.endpoints = weights.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += weights.get(endpoints[i]);
+            cumulativeWeights[i] = sum;
+        }
+        this.totalWeight = sum;
+        
+        String text = "x".repeat(Math.max(payloadBytes, 1));
+        this.filePayload = text.getBytes();
+        try {
+            this.storeRequestBody = objectMapper.writeValueAsString(Map.of(
+                "prefix", "LOAD", "dataType", "LOADTEST", "ttlSeconds", 3600, "data", Map.of("text", text)));
+            this.messageRequestBody = objectMapper.writeValueAsString(Map.of("message", text));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to build request bodies", e);
+        }
+    }
+    
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in mix but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromName(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix needs at least one endpoint with a positive weight");
+        }
+        return weights;
+    }
+    
+    public Endpoint nextEndpoint() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+    
+    public Endpoint[] getEndpoints() {
+        return endpoints;
+    }
+    
+    // Only called while seeding, before any request is sent concurrently
+    
+    public void addReferenceId(String referenceId) {
+        referenceIds.add(referenceId);
+    }
+    
+    public void addSeededFileName(String fileName) {
+        seededFileNames.add(fileName);
+    }
+    
+    public int getReferenceIdCount() {
+        return referenceIds.size();
+    }
+    
+    String randomReferenceId() {
+        return referenceIds.get(ThreadLocalRandom.current().nextInt(referenceIds.size()));
+    }
+    
+    String randomSeededFileName() {
+        return seededFileNames.get(ThreadLocalRandom.current().nextInt(seededFileNames.size()));
+    }
+    
+    String nextFileName() {
+        return "loadtest-" + fileCounter.incrementAndGet() + ".bin";
+    }
+    
+    String storeRequestBody() {
+        return storeRequestBody;
+    }
+    
+    String messageRequestBody() {
+        return messageRequestBody;
+    }
+    
+    byte[] filePayload() {
+        return filePayload;
+    }
+}
@@ -0,0 +1,106 @@
+#!/bin/bash
+
+# Compares request throughput of the platform thread and virtual thread execution modes.
+# Starts the packaged application once per mode against a running Redis, drives the
+# same load with `hey` and prints requests/sec and latency percentiles side by side.
+#
+# Usage: scripts/loadtest-virtual-threads.sh [duration] [concurrency] [path]
+#   duration     load duration per mode (default 30s)
+#   concurrency  concurrent clients (default 400)
+#   path         endpoint under /api (default: retrieve a seeded cache entry)
+set -e
+
+DURATION=${1:-30s}
+CONCURRENCY=${2:-400}
+PATH_UNDER_TEST=$3
+PORT=${LOADTEST_PORT:-8090}
+# A small request pool makes the platform thread cap visible at modest concurrency
+TOMCAT_MAX_THREADS=${TOMCAT_MAX_THREADS:-50}
+BASE_URL="http://localhost:${PORT}/api"
+RESULTS_DIR=${RESULTS_DIR:-target/loadtest}
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${GREEN}[INFO]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+if ! command -v hey > /dev/null 2>&1; then
+    print_error "hey is required (go install github.com/rakyll/hey@latest)"
+    exit 1
+fi
+
+JAR=$(ls target/cloud-integration-app-*.jar 2>/dev/null | grep -v original | head -1)
+if [ -z "$JAR" ]; then
+    print_status "Packaging application..."
+    mvn -B -q package -DskipTests
+    JAR=$(ls target/cloud-integration-app-*.jar | grep -v original | head -1)
+fi
+
+mkdir -p "$RESULTS_DIR"
+
+run_mode() {
+    local mode=$1
+    local virtual=$2
+    local log="$RESULTS_DIR/app-${mode}.log"
+
+    print_status "Starting application in ${mode} thread mode..."
+    VIRTUAL_THREADS_ENABLED=$virtual TOMCAT_MAX_THREADS=$TOMCAT_MAX_THREADS \
+        java -jar "$JAR" --server.port="$PORT" --logging.level.com.example.cloudintegrationapp=INFO > "$log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    for i in $(seq 1 60); do
+        if curl -sf "$BASE_URL/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    local path=$PATH_UNDER_TEST
+    if [ -z "$path" ]; then
+        local reference_id
+        reference_id=$(curl -sf -X POST "$BASE_URL/cache/store" -H 'Content-Type: application/json' \
+            -d '{"prefix":"LOAD","data":{"payload":"load test"},"dataType":"LOAD_TEST","ttlSeconds":3600}' \
+            | sed -n 's/.*"referenceId":"\([^"]*\)".*/\1/p')
+        path="/cache/retrieve/${reference_id}"
+    fi
+
+    print_status "Warming up ${mode} mode..."
+    hey -z 10s -c "$CONCURRENCY" "$BASE_URL$path" > /dev/null
+
+    print_status "Running ${DURATION} at concurrency ${CONCURRENCY} against ${path}..."
+    hey -z "$DURATION" -c "$CONCURRENCY" "$BASE_URL$path" > "$RESULTS_DIR/hey-${mode}.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+summarize() {
+    local mode=$1
+    local file="$RESULTS_DIR/hey-${mode}.txt"
+    local rps p50 p99
+    rps=$(awk '/Requests\/sec/ {print $2}' "$file")
+    p50=$(awk '/ 50% in/ {print $3}' "$file")
+    p99=$(awk '/ 99% in/ {print $3}' "$file")
+    printf "%-10s %12s %12s %12s\n" "$mode" "$rps" "$p50" "$p99"
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo ""
+printf "%-10s %12s %12s %12s\n" "mode" "req/sec" "p50 (s)" "p99 (s)"
+summarize platform
+summarize virtual
+echo ""
+print_status "Full reports and application logs are in ${RESULTS_DIR}"
+print_status "Pinned virtual threads are logged by VirtualThreadPinningMonitor in app-virtual.log"
@@ -0,0 +1,35 @@
+#!/bin/bash
+
+# Builds the JMH benchmarks module and runs it with JSON results for regression tracking.
+# Results are written to benchmarks/results/<date>-<commit>.json; compare two files with
+# a JMH visualizer or by diffing the primaryMetric scores.
+#
+# Usage: scripts/run-benchmarks.sh [JMH options]
+#   scripts/run-benchmarks.sh                                # all benchmarks
+#   scripts/run-benchmarks.sh CacheDataSerialization         # benchmarks matching a regex
+#   scripts/run-benchmarks.sh -p payload=sheet -f 2          # any other JMH option
+set -e
+
+# Colors for output
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${GREEN}[INFO]${NC} $1"
+}
+
+cd "$(dirname "$0")/.."
+
+print_status "Installing application pom..."
+mvn -B -q install -DskipTests
+
+print_status "Building benchmarks..."
+mvn -B -q -f benchmarks/pom.xml package
+
+mkdir -p benchmarks/results
+RESULT_FILE="benchmarks/results/$(date +%Y%m%d-%H%M%S)-$(git rev-parse --short HEAD 2>/dev/null || echo local).json"
+
+print_status "Running benchmarks..."
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "$RESULT_FILE" "$@"
+
+print_status "Results written to ${RESULT_FILE}"
@@ -0,0 +1,29 @@
+#!/bin/bash
+
+# Builds the load-test module and runs it. The application is started in-process against
+# an embedded Redis server and in-memory GCP/Azure fakes, so nothing else needs to run.
+#
+# Usage: scripts/run-loadtest.sh [--name=value ...]
+#   scripts/run-loadtest.sh                                        # defaults: 200 req/s for 60s
+#   scripts/run-loadtest.sh --rate=1000 --duration=2m --virtual-threads=true
+#   scripts/run-loadtest.sh --mix=cache-retrieve=80,cache-store=20 --report=loadtest/results/run.csv
+set -e
+
+# Colors for output
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${GREEN}[INFO]${NC} $1"
+}
+
+cd "$(dirname "$0")/.."
+
+print_status "Installing application pom..."
+mvn -B -q install -DskipTests
+
+print_status "Building load test..."
+mvn -B -q -f loadtest/pom.xml package
+
+print_status "Running load test..."
+java -jar loadtest/target/loadtest.jar "$@"
@@ -0,0 +1,74 @@
+package com.example.cloudintegrationapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread model for request handling and background work. With spring.threads.virtual.enabled
+ * Spring Boot runs Tomcat requests, @Async and @Scheduled methods on virtual threads, so
+ * blocking cloud SDK, Redis and JDBC calls made from them no longer cap concurrency at
+ * server.tomcat.threads.max. Data jobs run on virtual threads unless app.async.virtual-threads
+ * is turned off, whichever thread model requests use.
+ */
+@Configuration
+public class AsyncExecutionConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExecutionConfig.class);
+    
+    @Value("${app.async.virtual-threads:true}")
+    private boolean virtualThreadsEnabled;
+    
+    // Platform threads for data jobs when virtual threads are off; matches job admission
+    @Value("${app.async.max-concurrent-jobs:64}")
+    private int platformPoolSize;
+    
+    // Tasks waiting for a platform thread before further ones are rejected
+    @Value("${app.async.platform-queue-capacity:1000}")
+    private int platformQueueCapacity;
+    
+    /**
+     * Executor for DataService background jobs. In virtual thread mode each job gets its
+     * own virtual thread, so blocking Redis calls neither tie up platform threads nor share
+     * the common ForkJoinPool used by parallel streams. Admission is bounded by
+     * AsyncJobService. Otherwise a fixed pool of platform threads is used whose queue is
+     * bounded too, so cache repopulation and early refreshes cannot pile up behind jobs;
+     * rejected tasks are skipped by their callers and rejected jobs answered with 429.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService dataJobExecutor() {
+        if (virtualThreadsEnabled) {
+            logger.info("Configuring virtual thread executor for data jobs");
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("data-job-", 0).factory());
+        }
+        logger.info("Configuring platform thread pool of {} with a queue of {} for data jobs",
+            platformPoolSize, platformQueueCapacity);
+        return new ThreadPoolExecutor(platformPoolSize, platformPoolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(platformQueueCapacity), Thread.ofPlatform().name("data-job-", 0).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * Reports virtual threads pinned to their carrier, typically by blocking inside a
+     * synchronized block of a client library, for longer than the threshold
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        logger.info("Monitoring virtual thread pinning longer than {}", threshold);
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
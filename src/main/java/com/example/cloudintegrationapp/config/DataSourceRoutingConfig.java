@@ -0,0 +1,91 @@
+package com.example.cloudintegrationapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary/replica datasource routing. Read-only transactions are served by the read
+ * replicas listed in app.datasource.routing.replica-urls; all other work, and reads
+ * while every replica is lagging, go to spring.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRoutingConfig.class);
+    
+    @Value("${app.datasource.routing.replica-urls:}")
+    private String[] replicaUrls;
+    
+    @Value("${app.datasource.routing.replica-pool-size:10}")
+    private int replicaPoolSize;
+    
+    @Value("${app.datasource.routing.max-lag-seconds:5}")
+    private double maxLagSeconds;
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        List<String> urls = Arrays.stream(replicaUrls).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(urls.get(i));
+            dataSource.setUsername(properties.determineUsername());
+            dataSource.setPassword(properties.determinePassword());
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(replicaPoolSize);
+            dataSource.setReadOnly(true);
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        logger.info("Configured {} read replica pool(s), max lag {}s", replicas.size(), maxLagSeconds);
+        return new ReplicaLagMonitor(replicas, maxLagSeconds, meterRegistry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            new ArrayList<>(replicaLagMonitor.getReplicas().keySet()),
+            replicaLagMonitor,
+            meterRegistry.counter("datasource.routing.reads", "target", "replica"),
+            meterRegistry.counter("datasource.routing.reads", "target", "primary_fallback"));
+        
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        
+        // Defer fetching a connection until the first statement, by which time the
+        // transaction's read-only flag has been set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.cloudintegrationapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a healthy read replica, round robin,
+ * and everything else to the primary. When no replica is within the lag limit reads
+ * fall back to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is only fetched
+ * once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    
+    private final List<String> replicaKeys;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter primaryFallbacks;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    public ReadWriteRoutingDataSource(List<String> replicaKeys, ReplicaLagMonitor lagMonitor,
+                                      Counter replicaReads, Counter primaryFallbacks) {
+        this.replicaKeys = replicaKeys;
+        this.lagMonitor = lagMonitor;
+        this.replicaReads = replicaReads;
+        this.primaryFallbacks = primaryFallbacks;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaKeys.isEmpty()) {
+            return PRIMARY;
+        }
+        
+        int start = Math.floorMod(next.getAndIncrement(), replicaKeys.size());
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get((start + i) % replicaKeys.size());
+            if (lagMonitor.isHealthy(key)) {
+                replicaReads.increment();
+                return key;
+            }
+        }
+        primaryFallbacks.increment();
+        return PRIMARY;
+    }
+}
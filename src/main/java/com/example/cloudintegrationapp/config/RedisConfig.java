@@ -5,19 +5,44 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
 @Configuration
 @ConditionalOnProperty(name = "spring.data.redis.host")
 public class RedisConfig {
@@ -36,20 +61,183 @@ public class RedisConfig {
     @Value("${spring.data.redis.database:0}")
     private int redisDatabase;
     
+    // Comma-separated host:port seed nodes; enables Redis Cluster mode
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private String clusterNodes;
+    
+    @Value("${spring.data.redis.cluster.max-redirects:3}")
+    private int clusterMaxRedirects;
+    
+    // Master name and comma-separated host:port sentinels; enables Sentinel mode
+    @Value("${spring.data.redis.sentinel.master:}")
+    private String sentinelMaster;
+    
+    @Value("${spring.data.redis.sentinel.nodes:}")
+    private String sentinelNodes;
+    
+    @Value("${app.redis.cluster.topology-refresh-period:30s}")
+    private Duration topologyRefreshPeriod;
+    
+    @Value("${spring.data.redis.timeout:2000ms}")
+    private Duration commandTimeout;
+    
+    @Value("${spring.data.redis.connect-timeout:2000ms}")
+    private Duration connectTimeout;
+    
+    @Value("${spring.data.redis.lettuce.shutdown-timeout:100ms}")
+    private Duration shutdownTimeout;
+    
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int poolMaxActive;
+    
+    @Value("${spring.data.redis.lettuce.pool.max-idle:8}")
+    private int poolMaxIdle;
+    
+    @Value("${spring.data.redis.lettuce.pool.min-idle:0}")
+    private int poolMinIdle;
+    
+    @Value("${spring.data.redis.lettuce.pool.max-wait:-1ms}")
+    private Duration poolMaxWait;
+    
+    // flush-each-command, flush-on-close or buffered (flush every buffer-size commands)
+    @Value("${app.redis.pipelining.flush-policy:flush-each-command}")
+    private String pipeliningFlushPolicy;
+    
+    @Value("${app.redis.pipelining.buffer-size:64}")
+    private int pipeliningBufferSize;
+    
+    /**
+     * Simple commands share one multiplexed native connection. Blocking commands,
+     * transactions and pipelines borrow a dedicated connection from the pool, which is
+     * sized by spring.data.redis.lettuce.pool. Reads and writes go to masters.
+     */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        logger.info("Configuring Redis connection - Host: {}, Port: {}, Database: {}", redisHost, redisPort, redisDatabase);
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory(ClientResources clientResources) {
+        return createConnectionFactory(clientResources, ReadFrom.UPSTREAM);
+    }
+    
+    /**
+     * Connection factory for reads that tolerate replication lag. On Cluster and Sentinel
+     * it reads from replicas when available; a standalone node has none to offer.
+     */
+    @Bean
+    public LettuceConnectionFactory replicaReadConnectionFactory(ClientResources clientResources) {
+        return createConnectionFactory(clientResources, ReadFrom.REPLICA_PREFERRED);
+    }
+    
+    private LettuceConnectionFactory createConnectionFactory(ClientResources clientResources, ReadFrom readFrom) {
+        LettuceConnectionFactory factory;
+        if (!clusterNodes.isBlank()) {
+            logger.info("Configuring Redis Cluster connection - Nodes: {}, Read from: {}", clusterNodes, readFrom);
+            RedisClusterConfiguration config = new RedisClusterConfiguration(splitNodes(clusterNodes));
+            config.setMaxRedirects(clusterMaxRedirects);
+            if (hasPassword()) {
+                config.setPassword(redisPassword);
+            }
+            factory = new LettuceConnectionFactory(config, clientConfiguration(clientResources, readFrom, true));
+        } else if (!sentinelMaster.isBlank()) {
+            logger.info("Configuring Redis Sentinel connection - Master: {}, Sentinels: {}, Database: {}, Read from: {}",
+                sentinelMaster, sentinelNodes, redisDatabase, readFrom);
+            RedisSentinelConfiguration config = new RedisSentinelConfiguration(sentinelMaster, new HashSet<>(splitNodes(sentinelNodes)));
+            config.setDatabase(redisDatabase);
+            if (hasPassword()) {
+                config.setPassword(redisPassword);
+            }
+            factory = new LettuceConnectionFactory(config, clientConfiguration(clientResources, readFrom, false));
+        } else {
+            logger.info("Configuring Redis connection - Host: {}, Port: {}, Database: {}", redisHost, redisPort, redisDatabase);
+            RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
+            config.setHostName(redisHost);
+            config.setPort(redisPort);
+            config.setDatabase(redisDatabase);
+            if (hasPassword()) {
+                config.setPassword(redisPassword);
+            }
+            // ReadFrom only applies to topologies with replicas
+            factory = new LettuceConnectionFactory(config, clientConfiguration(clientResources, null, false));
+        }
         
-        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName(redisHost);
-        config.setPort(redisPort);
-        config.setDatabase(redisDatabase);
+        factory.setShareNativeConnection(true);
+        factory.setPipeliningFlushPolicy(pipeliningFlushPolicy());
+        return factory;
+    }
+    
+    /**
+     * Publishes active/idle/waiting figures of the dedicated connection pool, read from
+     * the pool's JMX registration
+     */
+    @Bean
+    public CommonsObjectPool2Metrics redisPoolMetrics() {
+        return new CommonsObjectPool2Metrics(Tags.of("pool", "redis"));
+    }
+    
+    private LettucePoolingClientConfiguration clientConfiguration(ClientResources clientResources, ReadFrom readFrom,
+                                                                  boolean cluster) {
+        GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(poolMaxActive);
+        poolConfig.setMaxIdle(poolMaxIdle);
+        poolConfig.setMinIdle(poolMinIdle);
+        poolConfig.setMaxWait(poolMaxWait);
+        poolConfig.setJmxEnabled(true);
+        poolConfig.setJmxNamePrefix("redis-pool");
         
-        if (redisPassword != null && !redisPassword.trim().isEmpty()) {
-            config.setPassword(redisPassword);
+        SocketOptions socketOptions = SocketOptions.builder().connectTimeout(connectTimeout).keepAlive(true).build();
+        ClientOptions clientOptions;
+        if (cluster) {
+            // Follow slot migrations and failovers without waiting for MOVED redirects
+            clientOptions = ClusterClientOptions.builder()
+                .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                    .enablePeriodicRefresh(topologyRefreshPeriod)
+                    .enableAllAdaptiveRefreshTriggers()
+                    .build())
+                .socketOptions(socketOptions)
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+        } else {
+            clientOptions = ClientOptions.builder()
+                .socketOptions(socketOptions)
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
         }
         
-        return new LettuceConnectionFactory(config);
+        logger.info("Redis pool max-active: {}, command timeout: {}, pipelining flush: {}",
+            poolMaxActive, commandTimeout, pipeliningFlushPolicy);
+        
+        LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder builder = LettucePoolingClientConfiguration.builder()
+            .poolConfig(poolConfig)
+            .clientResources(clientResources)
+            .clientOptions(clientOptions)
+            .commandTimeout(commandTimeout)
+            .shutdownTimeout(shutdownTimeout);
+        if (readFrom != null) {
+            builder.readFrom(readFrom);
+        }
+        return builder.build();
+    }
+    
+    private boolean hasPassword() {
+        return redisPassword != null && !redisPassword.trim().isEmpty();
+    }
+    
+    private static List<String> splitNodes(String nodes) {
+        return Arrays.stream(nodes.split(","))
+            .map(String::trim)
+            .filter(node -> !node.isEmpty())
+            .toList();
+    }
+    
+    private LettuceConnection.PipeliningFlushPolicy pipeliningFlushPolicy() {
+        switch (pipeliningFlushPolicy) {
+            case "flush-on-close":
+                return LettuceConnection.PipeliningFlushPolicy.flushOnClose();
+            case "buffered":
+                return LettuceConnection.PipeliningFlushPolicy.buffered(pipeliningBufferSize);
+            default:
+                return LettuceConnection.PipeliningFlushPolicy.flushEachCommand();
+        }
     }
     
     @Bean
@@ -61,7 +249,42 @@ public class RedisConfig {
     }
     
     @Bean
+    @Primary
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, String> template = stringTemplate(connectionFactory);
+        logger.info("Redis template configured successfully");
+        return template;
+    }
+    
+    @Bean
+    public RedisTemplate<String, String> replicaReadRedisTemplate(
+            @Qualifier("replicaReadConnectionFactory") RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, String> template = stringTemplate(connectionFactory);
+        logger.info("Replica read Redis template configured successfully");
+        return template;
+    }
+    
+    /**
+     * Non-blocking counterparts of the string templates. Commands are multiplexed over the
+     * shared native connection and complete on Lettuce's event loop, so no caller thread
+     * waits on Redis I/O.
+     */
+    @Bean
+    @Primary
+    public ReactiveRedisTemplate<String, String> reactiveRedisTemplate(
+            @Qualifier("redisConnectionFactory") ReactiveRedisConnectionFactory connectionFactory) {
+        logger.info("Reactive Redis template configured successfully");
+        return new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.string());
+    }
+    
+    @Bean
+    public ReactiveRedisTemplate<String, String> replicaReadReactiveRedisTemplate(
+            @Qualifier("replicaReadConnectionFactory") ReactiveRedisConnectionFactory connectionFactory) {
+        logger.info("Replica read reactive Redis template configured successfully");
+        return new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.string());
+    }
+    
+    private RedisTemplate<String, String> stringTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         
@@ -73,8 +296,6 @@ public class RedisConfig {
         template.setHashValueSerializer(stringSerializer);
         
         template.afterPropertiesSet();
-        
-        logger.info("Redis template configured successfully");
         return template;
     }
     
@@ -0,0 +1,84 @@
+package com.example.cloudintegrationapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the read replica pools and periodically measures replay lag on each. A replica
+ * is used for reads only while its last measured lag is within the limit; an unreachable
+ * replica counts as unhealthy until the next successful check.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    // Zero when the replica has replayed everything it received, so an idle primary
+    // does not make an up-to-date replica look stale
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+    
+    private final Map<String, HikariDataSource> replicas;
+    private final Map<String, JdbcTemplate> lagQueries = new LinkedHashMap<>();
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final double maxLagSeconds;
+    
+    public ReplicaLagMonitor(Map<String, HikariDataSource> replicas, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        replicas.forEach((key, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(2);
+            lagQueries.put(key, jdbcTemplate);
+            Gauge.builder("datasource.replica.lag.seconds", lagSeconds, lags -> lags.getOrDefault(key, Double.NaN))
+                .description("Last measured replay lag of the read replica")
+                .tag("replica", key)
+                .register(meterRegistry);
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        lagQueries.forEach((key, jdbcTemplate) -> {
+            try {
+                Double lag = jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+                Double previous = lagSeconds.put(key, lag != null ? lag : 0.0);
+                if (previous == null || (previous > maxLagSeconds) != (lagSeconds.get(key) > maxLagSeconds)) {
+                    logger.info("Read replica {} lag {}s, {}", key, lagSeconds.get(key),
+                        isHealthy(key) ? "routing reads to it" : "reads fall back to primary");
+                }
+            } catch (Exception e) {
+                if (lagSeconds.remove(key) != null) {
+                    logger.warn("Read replica {} lag check failed, reads fall back to primary", key, e);
+                }
+            }
+        });
+    }
+    
+    public boolean isHealthy(String key) {
+        Double lag = lagSeconds.get(key);
+        return lag != null && lag <= maxLagSeconds;
+    }
+    
+    public Map<String, Double> getLagSeconds() {
+        return Map.copyOf(lagSeconds);
+    }
+    
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+    
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.cloudintegrationapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR jdk.VirtualThreadPinned event in process. Every pinning longer than the
+ * threshold is recorded in the jvm.threads.virtual.pinned timer; the stack is logged once
+ * per distinct pinning site so a hot synchronized block does not flood the log. The site is
+ * the first frame outside the JDK: the frames above it are the same park call every time.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_REPORTED_SITES = 1000;
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+    
+    private final RecordingStream recordingStream;
+    private final Timer pinnedTimer;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .register(meterRegistry);
+        
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = frames.isEmpty() ? "unknown" : describe(pinningSite(frames));
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n\tat "));
+            logger.warn("Virtual thread {} pinned for {} ms\n\tat {}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), stack);
+        }
+    }
+    
+    // Sites logged so far
+    Set<String> getReportedSites() {
+        return Set.copyOf(reportedSites);
+    }
+    
+    private static RecordedFrame pinningSite(List<RecordedFrame> frames) {
+        return frames.stream()
+            .filter(frame -> JDK_PACKAGES.stream().noneMatch(frame.getMethod().getType().getName()::startsWith))
+            .findFirst()
+            .orElse(frames.get(0));
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + ":" + frame.getLineNumber();
+    }
+    
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+}
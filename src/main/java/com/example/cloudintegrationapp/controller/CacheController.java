@@ -1,20 +1,29 @@
 package com.example.cloudintegrationapp.controller;
 
 import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.model.AsyncJob;
 import com.example.cloudintegrationapp.model.CacheData;
 import com.example.cloudintegrationapp.model.DataEntity;
+import com.example.cloudintegrationapp.service.AsyncJobService;
 import com.example.cloudintegrationapp.service.DataService;
+import com.example.cloudintegrationapp.service.HotPathLogger;
 import com.example.cloudintegrationapp.service.RedisCacheService;
 import com.example.cloudintegrationapp.service.ReferenceIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/cache")
@@ -31,6 +40,12 @@ public class CacheController {
     @Autowired
     private ReferenceIdGenerator referenceIdGenerator;
     
+    @Autowired
+    private AsyncJobService asyncJobService;
+    
+    @Autowired
+    private HotPathLogger hotPathLogger;
+    
     // ===== REFERENCE ID GENERATION ENDPOINTS =====
     
     @GetMapping("/generate-reference-id")
@@ -40,7 +55,7 @@ public class CacheController {
                 referenceIdGenerator.generateReferenceId(prefix) : 
                 referenceIdGenerator.generateReferenceId();
             
-            logger.info("Generated reference ID: {} with prefix: {}", referenceId, prefix);
+            hotPathLogger.info(logger, "reference_id.generate", "Generated reference ID: {} with prefix: {}", referenceId, prefix);
             return ResponseEntity.ok(ApiResponse.success("Reference ID generated successfully", referenceId, referenceId));
             
         } catch (Exception e) {
@@ -87,7 +102,7 @@ public class CacheController {
                     referenceId = referenceIdGenerator.generateReferenceId(type);
             }
             
-            logger.info("Generated {} reference ID: {}", type, referenceId);
+            hotPathLogger.info(logger, "reference_id.generate", "Generated {} reference ID: {}", type, referenceId);
             return ResponseEntity.ok(ApiResponse.success("Reference ID generated successfully", referenceId, referenceId));
             
         } catch (Exception e) {
@@ -108,7 +123,7 @@ public class CacheController {
             String referenceId = referenceIdGenerator.generateCustomReferenceId(
                 prefix, includeTimestamp, randomLength, includeSequence);
             
-            logger.info("Generated custom reference ID: {}", referenceId);
+            hotPathLogger.info(logger, "reference_id.generate", "Generated custom reference ID: {}", referenceId);
             return ResponseEntity.ok(ApiResponse.success("Custom reference ID generated successfully", referenceId, referenceId));
             
         } catch (Exception e) {
@@ -153,7 +168,7 @@ public class CacheController {
             ApiResponse<DataEntity> result = dataService.getDataEntity(referenceId);
             
             if (result.isSuccess()) {
-                return ResponseEntity.ok(result);
+                return withETag(ResponseEntity.ok(), result).body(result);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -168,17 +183,29 @@ public class CacheController {
     @PutMapping("/data-entity/{referenceId}")
     public ResponseEntity<ApiResponse<DataEntity>> updateDataEntity(
             @PathVariable String referenceId, 
-            @RequestBody Map<String, String> updateData) {
+            @RequestBody Map<String, String> updateData,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             String name = updateData.get("name");
             String description = updateData.get("description");
             String category = updateData.get("category");
             String status = updateData.get("status");
             
-            ApiResponse<DataEntity> result = dataService.updateDataEntity(referenceId, name, description, category, status);
+            Long expectedVersion;
+            try {
+                expectedVersion = parseETag(ifMatch);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid If-Match header: " + ifMatch));
+            }
+            
+            ApiResponse<DataEntity> result = dataService.updateDataEntity(
+                referenceId, name, description, category, status, expectedVersion);
             
             if (result.isSuccess()) {
-                return ResponseEntity.ok(result);
+                return withETag(ResponseEntity.ok(), result).body(result);
+            } else if (Integer.valueOf(412).equals(result.getStatusCode())) {
+                return withETag(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED), result).body(result);
             } else {
                 return ResponseEntity.badRequest().body(result);
             }
@@ -209,10 +236,33 @@ public class CacheController {
     }
     
     @GetMapping("/data-entities")
-    public ResponseEntity<ApiResponse<List<DataEntity>>> getAllDataEntities(@RequestParam(required = false) String pattern) {
+    public ResponseEntity<ApiResponse<List<DataEntity>>> getAllDataEntities(
+            @RequestParam(required = false) String pattern,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            ApiResponse<List<DataEntity>> result = dataService.getAllDataEntities(pattern);
-            return ResponseEntity.ok(result);
+            if (cursor == null && limit == null) {
+                ApiResponse<List<DataEntity>> result = dataService.getAllDataEntities(pattern);
+                return ResponseEntity.ok(result);
+            }
+            
+            // Cursor pagination walks the creation index, so it cannot be combined with a key pattern
+            if (pattern != null) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Pattern is not supported with cursor pagination, use /data-entities/stream"));
+            }
+            int pageSize = limit != null ? limit : 100;
+            if (pageSize <= 0 || pageSize > 1000) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Limit must be between 1 and 1000"));
+            }
+            
+            ApiResponse<List<DataEntity>> result = dataService.getDataEntitiesPage(cursor, pageSize);
+            if (result.isSuccess()) {
+                return ResponseEntity.ok(result);
+            } else {
+                return ResponseEntity.badRequest().body(result);
+            }
             
         } catch (Exception e) {
             logger.error("Error retrieving all data entities", e);
@@ -221,6 +271,49 @@ public class CacheController {
         }
     }
     
+    @GetMapping(value = "/data-entities/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamDataEntities(@RequestParam(required = false) String pattern) {
+        StreamingResponseBody body = outputStream -> dataService.streamDataEntities(pattern, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+    
+    @GetMapping("/data-entities/search")
+    public ResponseEntity<ApiResponse<List<DataEntity>>> searchDataEntities(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            if (limit <= 0 || limit > 1000) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Limit must be between 1 and 1000"));
+            }
+            
+            ApiResponse<List<DataEntity>> result = dataService.findDataEntities(category, status, createdFrom, createdTo, limit);
+            return ResponseEntity.ok(result);
+            
+        } catch (Exception e) {
+            logger.error("Error searching data entities", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error searching data entities: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/data-entities/category/{category}")
+    public ResponseEntity<ApiResponse<List<DataEntity>>> getDataEntitiesByCategory(
+            @PathVariable String category, @RequestParam(defaultValue = "100") int limit) {
+        return searchDataEntities(category, null, null, null, limit);
+    }
+    
+    @GetMapping("/data-entities/status/{status}")
+    public ResponseEntity<ApiResponse<List<DataEntity>>> getDataEntitiesByStatus(
+            @PathVariable String status, @RequestParam(defaultValue = "100") int limit) {
+        return searchDataEntities(null, status, null, null, limit);
+    }
+    
     // ===== CUSTOM DATA STORAGE ENDPOINTS =====
     
     @PostMapping("/store")
@@ -285,6 +378,22 @@ public class CacheController {
         }
     }
     
+    /**
+     * Hottest entries by estimated recent accesses and largest entries by serialized size
+     */
+    @GetMapping("/hotkeys")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getHotKeys(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            Map<String, Object> hotKeys = redisCacheService.getHotKeys(Math.max(1, limit));
+            return ResponseEntity.ok(ApiResponse.success("Hot keys retrieved successfully", hotKeys));
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving hot keys", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error retrieving hot keys: " + e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/clear")
     public ResponseEntity<ApiResponse<String>> clearAllCache() {
         try {
@@ -309,7 +418,7 @@ public class CacheController {
             boolean deleted = redisCacheService.deleteData(referenceId);
             
             if (deleted) {
-                logger.info("Deleted cache entry for reference ID: {}", referenceId);
+                hotPathLogger.info(logger, "cache.delete", "Deleted cache entry for reference ID: {}", referenceId);
                 return ResponseEntity.ok(ApiResponse.success("Cache entry deleted successfully", referenceId, referenceId));
             } else {
                 return ResponseEntity.badRequest()
@@ -389,12 +498,16 @@ public class CacheController {
     }
     
     @PostMapping("/async-process/{referenceId}")
-    public ResponseEntity<ApiResponse<String>> processDataAsync(@PathVariable String referenceId, @RequestParam String operation) {
+    public ResponseEntity<ApiResponse<AsyncJob>> processDataAsync(@PathVariable String referenceId, @RequestParam String operation) {
         try {
-            CompletableFuture<ApiResponse<String>> future = dataService.processDataAsync(referenceId, operation);
+            ApiResponse<AsyncJob> result = dataService.processDataAsync(referenceId, operation);
             
-            // Return immediately with processing status
-            return ResponseEntity.ok(ApiResponse.success("Async processing started for reference ID: " + referenceId, referenceId, referenceId));
+            if (result.isSuccess()) {
+                // Return immediately with the job to poll
+                return ResponseEntity.accepted().body(result);
+            } else {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(result);
+            }
             
         } catch (Exception e) {
             logger.error("Error starting async processing for reference ID: {}", referenceId, e);
@@ -403,6 +516,43 @@ public class CacheController {
         }
     }
     
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<AsyncJob>> getJob(@PathVariable String jobId) {
+        try {
+            Optional<AsyncJob> job = asyncJobService.getJob(jobId);
+            
+            if (job.isPresent()) {
+                return ResponseEntity.ok(ApiResponse.success("Job status retrieved", job.get(), job.get().getReferenceId()));
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving job: {}", jobId, e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error retrieving job: " + e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<AsyncJob>> cancelJob(@PathVariable String jobId) {
+        try {
+            Optional<AsyncJob> job = asyncJobService.cancel(jobId);
+            
+            if (job.isPresent()) {
+                return ResponseEntity.ok(ApiResponse.success("Job cancellation processed", job.get(), job.get().getReferenceId()));
+            } else {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Job is not running on this instance or has already finished: " + jobId));
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error cancelling job: {}", jobId, e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error cancelling job: " + e.getMessage()));
+        }
+    }
+    
     // ===== UTILITY ENDPOINTS =====
     
     @GetMapping("/validate-reference-id/{referenceId}")
@@ -443,4 +593,24 @@ public class CacheController {
                 .body(ApiResponse.error("Error retrieving generator statistics: " + e.getMessage()));
         }
     }
+    
+    // ===== HELPERS =====
+    
+    private ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, ApiResponse<?> result) {
+        if (result.getMetadata() != null && result.getMetadata().get("version") != null) {
+            builder.eTag("\"" + result.getMetadata().get("version") + "\"");
+        }
+        return builder;
+    }
+    
+    private Long parseETag(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        return Long.valueOf(tag.replace("\"", ""));
+    }
 }
@@ -0,0 +1,120 @@
+package com.example.cloudintegrationapp.controller;
+
+import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.repository.DataEntitySummary;
+import com.example.cloudintegrationapp.service.BulkIngestService;
+import com.example.cloudintegrationapp.service.DataEntityQueryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/entities")
+public class DataEntityController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataEntityController.class);
+    
+    @Autowired
+    private DataEntityQueryService dataEntityQueryService;
+    
+    @Autowired
+    private BulkIngestService bulkIngestService;
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<DataEntitySummary>>> getEntities(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            if (limit <= 0 || limit > 1000) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Limit must be between 1 and 1000"));
+            }
+            
+            ApiResponse<List<DataEntitySummary>> result = dataEntityQueryService.getSummaryPage(category, status, cursor, limit);
+            if (result.isSuccess()) {
+                return ResponseEntity.ok(result);
+            } else {
+                return ResponseEntity.badRequest().body(result);
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving data entities", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error retrieving data entities: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamEntities(@RequestParam(required = false) String category) {
+        StreamingResponseBody body = outputStream -> dataEntityQueryService.streamSummaries(category, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<DataEntitySummary>>> searchEntities(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            if (name.isBlank()) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Name must not be blank"));
+            }
+            if (limit <= 0 || limit > 1000) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Limit must be between 1 and 1000"));
+            }
+            
+            ApiResponse<List<DataEntitySummary>> result = dataEntityQueryService.searchByName(name, limit);
+            if (result.isSuccess()) {
+                return ResponseEntity.ok(result);
+            } else {
+                return ResponseEntity.internalServerError().body(result);
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error searching data entities by name: {}", name, e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error searching data entities: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<List<String>>> bulkIngest(
+            @RequestBody List<Map<String, String>> entityDataList,
+            @RequestParam(defaultValue = "auto") String mode) {
+        try {
+            BulkIngestService.Mode ingestMode;
+            try {
+                ingestMode = BulkIngestService.Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Mode must be one of auto, batch, copy"));
+            }
+            
+            ApiResponse<List<String>> result = bulkIngestService.ingest(entityDataList, ingestMode);
+            if (result.isSuccess()) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(result);
+            } else {
+                return ResponseEntity.badRequest().body(result);
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error in bulk ingest", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error in bulk ingest: " + e.getMessage()));
+        }
+    }
+}
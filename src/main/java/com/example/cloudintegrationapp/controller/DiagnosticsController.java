@@ -0,0 +1,93 @@
+package com.example.cloudintegrationapp.controller;
+
+import com.example.cloudintegrationapp.diagnostics.JfrRecordingService;
+import com.example.cloudintegrationapp.model.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Control of the in-process JFR recording. Dumps include the application's cache, cloud
+ * transfer, Excel sheet and reference ID events and can be opened in JDK Mission Control.
+ */
+@RestController
+@RequestMapping("/diagnostics/jfr")
+public class DiagnosticsController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsController.class);
+    
+    @Autowired
+    private JfrRecordingService jfrRecordingService;
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecordingStatus() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Recording status retrieved", jfrRecordingService.getStatus()));
+        } catch (Exception e) {
+            logger.error("Error retrieving JFR recording status", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error retrieving recording status: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> startRecording(@RequestParam(required = false) String settings) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Recording started", jfrRecordingService.start(settings)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting JFR recording", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error starting recording: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/dump")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> dumpRecording() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Recording dumped", jfrRecordingService.dump()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error dumping JFR recording", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error dumping recording: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/stop")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> stopRecording() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Recording stopped", jfrRecordingService.stop()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error stopping JFR recording", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Error stopping recording: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/recordings/{fileName}")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable String fileName) {
+        Path file = jfrRecordingService.getDumpFile(fileName);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .body(new FileSystemResource(file));
+    }
+}
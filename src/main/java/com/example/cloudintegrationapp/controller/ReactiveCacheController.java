@@ -0,0 +1,126 @@
+package com.example.cloudintegrationapp.controller;
+
+import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.model.CacheData;
+import com.example.cloudintegrationapp.service.ReactiveRedisCacheService;
+import com.example.cloudintegrationapp.service.ReferenceIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking variants of the custom data endpoints. Handlers return a Mono, so the
+ * servlet thread is released while Redis is working and the response is written when
+ * the command completes.
+ */
+@RestController
+@RequestMapping("/cache/reactive")
+public class ReactiveCacheController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCacheController.class);
+    
+    private static final int MAX_BULK_SIZE = 1000;
+    
+    @Autowired
+    private ReactiveRedisCacheService reactiveRedisCacheService;
+    
+    @Autowired
+    private ReferenceIdGenerator referenceIdGenerator;
+    
+    @PostMapping("/store")
+    public Mono<ResponseEntity<ApiResponse<String>>> storeCustomData(@RequestBody Map<String, Object> request) {
+        if (request.get("data") == null) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error("Data is required")));
+        }
+        
+        String referenceId = referenceIdGenerator.generateReferenceId((String) request.getOrDefault("prefix", "CLD"));
+        return reactiveRedisCacheService.storeData(referenceId, toCacheData(referenceId, request))
+            .map(stored -> stored
+                ? ResponseEntity.ok(ApiResponse.success("Custom data stored successfully", referenceId, referenceId))
+                : ResponseEntity.badRequest().body(ApiResponse.<String>error("Failed to store custom data")))
+            .onErrorResume(e -> {
+                logger.error("Error storing custom data", e);
+                return Mono.just(ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error storing custom data: " + e.getMessage())));
+            });
+    }
+    
+    @GetMapping("/retrieve/{referenceId}")
+    public Mono<ResponseEntity<ApiResponse<Object>>> retrieveCustomData(@PathVariable String referenceId) {
+        return reactiveRedisCacheService.getData(referenceId)
+            .map(cacheData -> ResponseEntity.ok(
+                ApiResponse.success("Custom data retrieved successfully", cacheData.getContent(), referenceId)))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @DeleteMapping("/delete/{referenceId}")
+    public Mono<ResponseEntity<ApiResponse<String>>> deleteCacheEntry(@PathVariable String referenceId) {
+        return reactiveRedisCacheService.deleteData(referenceId)
+            .map(deleted -> deleted
+                ? ResponseEntity.ok(ApiResponse.success("Cache entry deleted successfully", referenceId, referenceId))
+                : ResponseEntity.badRequest()
+                    .body(ApiResponse.<String>error("Cache entry not found for reference ID: " + referenceId)));
+    }
+    
+    /**
+     * Store a list of items shaped like the /store request body. Each item gets its own
+     * reference ID; the response lists the IDs that were stored.
+     */
+    @PostMapping("/store/bulk")
+    public Mono<ResponseEntity<ApiResponse<List<String>>>> storeCustomDataBulk(@RequestBody List<Map<String, Object>> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BULK_SIZE) {
+            return Mono.just(ResponseEntity.badRequest()
+                .body(ApiResponse.error("Between 1 and " + MAX_BULK_SIZE + " items are required")));
+        }
+        if (requests.stream().anyMatch(request -> request.get("data") == null)) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error("Data is required for every item")));
+        }
+        
+        Map<String, CacheData> entries = new LinkedHashMap<>();
+        for (Map<String, Object> request : requests) {
+            String referenceId = referenceIdGenerator.generateReferenceId((String) request.getOrDefault("prefix", "CLD"));
+            entries.put(referenceId, toCacheData(referenceId, request));
+        }
+        
+        return reactiveRedisCacheService.storeDataBulk(entries)
+            .map(stored -> ResponseEntity.ok(ApiResponse.success(
+                String.format("Stored %d of %d items", stored.size(), entries.size()), stored)));
+    }
+    
+    /**
+     * Retrieve several entries in one round trip. Missing reference IDs are left out of
+     * the returned map.
+     */
+    @PostMapping("/retrieve/bulk")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> retrieveCustomDataBulk(@RequestBody List<String> referenceIds) {
+        if (referenceIds.isEmpty() || referenceIds.size() > MAX_BULK_SIZE) {
+            return Mono.just(ResponseEntity.badRequest()
+                .body(ApiResponse.error("Between 1 and " + MAX_BULK_SIZE + " reference IDs are required")));
+        }
+        
+        return reactiveRedisCacheService.getDataBulk(referenceIds)
+            .map(found -> {
+                Map<String, Object> contents = new LinkedHashMap<>();
+                found.forEach((referenceId, cacheData) -> contents.put(referenceId, cacheData.getContent()));
+                return ResponseEntity.ok(ApiResponse.success(
+                    String.format("Retrieved %d of %d entries", contents.size(), referenceIds.size()), contents));
+            });
+    }
+    
+    private CacheData toCacheData(String referenceId, Map<String, Object> request) {
+        String dataType = (String) request.getOrDefault("dataType", "CUSTOM");
+        Object ttlSeconds = request.get("ttlSeconds");
+        CacheData cacheData = ttlSeconds != null
+            ? new CacheData(referenceId, dataType, request.get("data"), Long.valueOf(ttlSeconds.toString()))
+            : new CacheData(referenceId, dataType, request.get("data"));
+        cacheData.setMetadata("Stored via ReactiveCacheController");
+        return cacheData;
+    }
+}
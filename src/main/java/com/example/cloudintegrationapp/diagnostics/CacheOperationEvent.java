@@ -0,0 +1,33 @@
+package com.example.cloudintegrationapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Redis round trip of RedisCacheService
+ */
+@Name("com.example.cloudintegrationapp.CacheOperation")
+@Label("Cache Operation")
+@Category({"Cloud Integration", "Cache"})
+@Description("Redis round trip for a cache entry")
+@StackTrace(false)
+public class CacheOperationEvent extends Event {
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    @Label("Reference ID")
+    String referenceId;
+    
+    @Label("Payload Size")
+    @DataAmount
+    long payloadSize;
+}
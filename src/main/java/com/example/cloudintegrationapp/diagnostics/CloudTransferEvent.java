@@ -0,0 +1,35 @@
+package com.example.cloudintegrationapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One Cloud Storage, Pub/Sub, Blob Storage or Queue Storage call
+ */
+@Name("com.example.cloudintegrationapp.CloudTransfer")
+@Label("Cloud Transfer")
+@Category({"Cloud Integration", "Cloud"})
+@Description("Upload, download, publish or send through a cloud SDK")
+public class CloudTransferEvent extends Event {
+    
+    @Label("Service")
+    @Description("gcp.storage, gcp.pubsub, azure.blob or azure.queue")
+    String service;
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Object Name")
+    String objectName;
+    
+    @Label("Payload Size")
+    @DataAmount
+    long payloadSize;
+    
+    @Label("Failed")
+    boolean failed;
+}
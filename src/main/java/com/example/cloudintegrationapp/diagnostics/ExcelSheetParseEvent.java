@@ -0,0 +1,26 @@
+package com.example.cloudintegrationapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Conversion of one worksheet into rows by ExcelProcessingService
+ */
+@Name("com.example.cloudintegrationapp.ExcelSheetParse")
+@Label("Excel Sheet Parse")
+@Category({"Cloud Integration", "Excel"})
+@Description("Rows and cells of one worksheet converted to maps")
+public class ExcelSheetParseEvent extends Event {
+    
+    @Label("Sheet Name")
+    String sheetName;
+    
+    @Label("Rows")
+    long rows;
+    
+    @Label("Columns")
+    long columns;
+}
@@ -0,0 +1,94 @@
+package com.example.cloudintegrationapp.diagnostics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jdk.jfr.Event;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Turns the cache, cloud and Excel sheet observations into JFR events, so profiles can be
+ * matched to reference IDs, objects and sheets. Events are only timed and committed while a
+ * recording has them enabled.
+ */
+@Component
+public class JfrObservationHandler implements ObservationHandler<Observation.Context> {
+    
+    private static final String CACHE_OBSERVATION = "cache.redis";
+    private static final String SHEET_OBSERVATION = "excel.parse.sheet";
+    private static final Set<String> CLOUD_OBSERVATIONS = Set.of("gcp.storage", "gcp.pubsub", "azure.blob", "azure.queue");
+    
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        String name = context.getName();
+        return CACHE_OBSERVATION.equals(name) || SHEET_OBSERVATION.equals(name) || CLOUD_OBSERVATIONS.contains(name);
+    }
+    
+    @Override
+    public void onStart(Observation.Context context) {
+        Event event = newEvent(context.getName());
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(Event.class, event);
+        }
+    }
+    
+    @Override
+    public void onStop(Observation.Context context) {
+        Event event = context.get(Event.class);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        
+        if (event instanceof CacheOperationEvent cacheEvent) {
+            cacheEvent.operation = value(context, "operation");
+            cacheEvent.outcome = value(context, "outcome");
+            cacheEvent.referenceId = value(context, "reference.id");
+            cacheEvent.payloadSize = longValue(context, "payload.size.bytes");
+        } else if (event instanceof CloudTransferEvent cloudEvent) {
+            cloudEvent.service = context.getName();
+            cloudEvent.operation = value(context, "operation");
+            cloudEvent.objectName = value(context, "object.name") != null ? value(context, "object.name") : value(context, "blob.name");
+            cloudEvent.payloadSize = longValue(context, "payload.size.bytes");
+            cloudEvent.failed = context.getError() != null;
+        } else if (event instanceof ExcelSheetParseEvent sheetEvent) {
+            sheetEvent.sheetName = value(context, "sheet.name");
+            sheetEvent.rows = longValue(context, "excel.rows");
+            sheetEvent.columns = longValue(context, "excel.columns");
+        }
+        event.commit();
+    }
+    
+    private static Event newEvent(String name) {
+        if (CACHE_OBSERVATION.equals(name)) {
+            return new CacheOperationEvent();
+        }
+        if (SHEET_OBSERVATION.equals(name)) {
+            return new ExcelSheetParseEvent();
+        }
+        return new CloudTransferEvent();
+    }
+    
+    private static String value(Observation.Context context, String key) {
+        KeyValue keyValue = context.getLowCardinalityKeyValue(key);
+        if (keyValue == null) {
+            keyValue = context.getHighCardinalityKeyValue(key);
+        }
+        return keyValue != null ? keyValue.getValue() : null;
+    }
+    
+    private static long longValue(Observation.Context context, String key) {
+        String value = value(context, key);
+        try {
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
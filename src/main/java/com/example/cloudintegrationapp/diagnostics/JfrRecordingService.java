@@ -0,0 +1,234 @@
+package com.example.cloudintegrationapp.diagnostics;
+
+import com.example.cloudintegrationapp.service.ReferenceIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Starts, dumps and stops an in-process JFR recording, which includes the application's
+ * own events next to the JDK's. Only one recording is managed at a time; dumps are written
+ * to app.diagnostics.jfr.directory.
+ */
+@Service
+public class JfrRecordingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingService.class);
+    
+    private static final String RECORDING_NAME = "cloud-integration";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern DUMP_FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+\\.jfr");
+    
+    @Autowired
+    private ReferenceIdGenerator referenceIdGenerator;
+    
+    @Value("${app.diagnostics.jfr.directory:${java.io.tmpdir}/cloud-integration-jfr}")
+    private Path directory;
+    
+    // JDK settings file: "default" (about 1% overhead) or "profile" (more detail, about 2%)
+    @Value("${app.diagnostics.jfr.settings:default}")
+    private String defaultSettings;
+    
+    @Value("${app.diagnostics.jfr.max-age:30m}")
+    private Duration maxAge;
+    
+    @Value("${app.diagnostics.jfr.max-size:250MB}")
+    private DataSize maxSize;
+    
+    // Start recording at startup and keep the last max-age of events around for dumps
+    @Value("${app.diagnostics.jfr.continuous:false}")
+    private boolean continuous;
+    
+    // Not synchronized: file IO under a monitor would pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    
+    private long lastGeneratedTotal;
+    private final Runnable referenceIdHook = this::emitReferenceIdGeneration;
+    
+    @PostConstruct
+    public void init() {
+        FlightRecorder.addPeriodicEvent(ReferenceIdGenerationEvent.class, referenceIdHook);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (continuous) {
+            try {
+                start(null);
+            } catch (Exception e) {
+                logger.error("Failed to start continuous JFR recording", e);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        FlightRecorder.removePeriodicEvent(referenceIdHook);
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * @param settings JDK settings name, or null for the configured default
+     */
+    public Map<String, Object> start(String settings) throws IOException, ParseException {
+        lock.lock();
+        try {
+            if (isRunning()) {
+                throw new IllegalStateException("A recording is already running");
+            }
+            String settingsName = settings != null && !settings.isBlank() ? settings : defaultSettings;
+            Recording newRecording = new Recording(Configuration.getConfiguration(settingsName));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(maxAge);
+            newRecording.setMaxSize(maxSize.toBytes());
+            newRecording.start();
+            
+            if (recording != null) {
+                recording.close();
+            }
+            recording = newRecording;
+            logger.info("Started JFR recording with '{}' settings, keeping {} / {}", settingsName, maxAge, maxSize);
+            return getStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Write the events recorded so far to a file; the recording keeps running
+     */
+    public Map<String, Object> dump() throws IOException {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                throw new IllegalStateException("No recording is running");
+            }
+            return writeDump(recording, "dump");
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Stop the recording and write everything it holds to a file
+     */
+    public Map<String, Object> stop() throws IOException {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                throw new IllegalStateException("No recording is running");
+            }
+            recording.stop();
+            Map<String, Object> dumped = writeDump(recording, "stop");
+            recording.close();
+            recording = null;
+            return dumped;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public Map<String, Object> getStatus() throws IOException {
+        Map<String, Object> status = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            status.put("running", isRunning());
+            if (recording != null) {
+                status.put("state", recording.getState().name());
+                status.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+                status.put("maxAge", String.valueOf(recording.getMaxAge()));
+                status.put("maxSizeBytes", recording.getMaxSize());
+            }
+        } finally {
+            lock.unlock();
+        }
+        status.put("directory", directory.toString());
+        status.put("dumps", listDumps());
+        return status;
+    }
+    
+    /**
+     * A dump file by name, or null when there is none; rejects anything that is not a
+     * plain .jfr file name
+     */
+    public Path getDumpFile(String fileName) {
+        if (!DUMP_FILE_NAME.matcher(fileName).matches()) {
+            return null;
+        }
+        Path file = directory.resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+    
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+    
+    private Map<String, Object> writeDump(Recording source, String reason) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "-" + reason + ".jfr");
+        source.dump(file);
+        logger.info("Wrote JFR recording to {}", file);
+        
+        Map<String, Object> dumped = new LinkedHashMap<>();
+        dumped.put("file", file.getFileName().toString());
+        dumped.put("path", file.toString());
+        dumped.put("sizeBytes", Files.size(file));
+        return dumped;
+    }
+    
+    private List<String> listDumps() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> DUMP_FILE_NAME.matcher(name).matches())
+                .sorted()
+                .toList();
+        }
+    }
+    
+    private void emitReferenceIdGeneration() {
+        long total = referenceIdGenerator.getStats().getTotalGenerated();
+        ReferenceIdGenerationEvent event = new ReferenceIdGenerationEvent();
+        event.generated = Math.max(0, total - lastGeneratedTotal);
+        event.totalGenerated = total;
+        event.commit();
+        lastGeneratedTotal = total;
+    }
+}
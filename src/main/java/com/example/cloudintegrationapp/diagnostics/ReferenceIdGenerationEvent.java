@@ -0,0 +1,27 @@
+package com.example.cloudintegrationapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * Periodic count of generated reference IDs; bursts show up as spikes between samples
+ */
+@Name("com.example.cloudintegrationapp.ReferenceIdGeneration")
+@Label("Reference ID Generation")
+@Category({"Cloud Integration", "Reference IDs"})
+@Description("Reference IDs generated since the previous sample")
+@Period("1 s")
+@StackTrace(false)
+public class ReferenceIdGenerationEvent extends Event {
+    
+    @Label("Generated")
+    long generated;
+    
+    @Label("Total Generated")
+    long totalGenerated;
+}
@@ -1,12 +1,13 @@
 package com.example.cloudintegrationapp.integration.azure;
 
-import com.azure.core.util.BinaryData;
 import com.azure.security.keyvault.secrets.SecretClient;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.queue.QueueClient;
 import com.azure.storage.queue.QueueServiceClient;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,8 @@ public class AzureService {
 
     private static final Logger logger = LoggerFactory.getLogger(AzureService.class);
 
+    private static final String PAYLOAD_SIZE_KEY = "payload.size.bytes";
+
     @Autowired
     private SecretClient secretClient;
 
@@ -33,12 +36,28 @@ public class AzureService {
     @Autowired
     private QueueServiceClient queueServiceClient;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Value("${azure.storage.container-name}")
     private String containerName;
 
     @Value("${azure.queue.name}")
     private String queueName;
 
+    /**
+     * Span around one Blob Storage or Queue Storage call
+     */
+    private Observation observation(String name, String operation, String blobName) {
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+            .contextualName(name + " " + operation)
+            .lowCardinalityKeyValue("operation", operation);
+        if (blobName != null) {
+            observation.highCardinalityKeyValue("blob.name", blobName);
+        }
+        return observation;
+    }
+
     public String getSecret(String secretName) {
         try {
             return secretClient.getSecret(secretName).getValue();
@@ -49,43 +68,55 @@ public class AzureService {
     }
 
     public void uploadBlob(String blobName, byte[] data) {
-        try {
-            BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
-            BlobClient blobClient = containerClient.getBlobClient(blobName);
-            
-            InputStream inputStream = new ByteArrayInputStream(data);
-            blobClient.upload(inputStream, data.length);
-            
-            logger.info("Successfully uploaded blob: {}", blobName);
-        } catch (Exception e) {
-            logger.error("Failed to upload blob: {}", blobName, e);
-            throw new RuntimeException("Failed to upload blob", e);
-        }
+        Observation observation = observation("azure.blob", "upload", blobName)
+            .highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(data.length));
+        observation.observe(() -> {
+            try {
+                BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
+                BlobClient blobClient = containerClient.getBlobClient(blobName);
+                
+                InputStream inputStream = new ByteArrayInputStream(data);
+                blobClient.upload(inputStream, data.length);
+                
+                logger.info("Successfully uploaded blob: {}", blobName);
+            } catch (Exception e) {
+                logger.error("Failed to upload blob: {}", blobName, e);
+                throw new RuntimeException("Failed to upload blob", e);
+            }
+        });
     }
 
     public byte[] downloadBlob(String blobName) {
-        try {
-            BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
-            BlobClient blobClient = containerClient.getBlobClient(blobName);
-            
-            BinaryData binaryData = blobClient.downloadContent();
-            return binaryData.toBytes();
-        } catch (Exception e) {
-            logger.error("Failed to download blob: {}", blobName, e);
-            throw new RuntimeException("Failed to download blob", e);
-        }
+        Observation observation = observation("azure.blob", "download", blobName);
+        return observation.observe(() -> {
+            try {
+                BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
+                BlobClient blobClient = containerClient.getBlobClient(blobName);
+                
+                byte[] content = blobClient.downloadContent().toBytes();
+                observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(content.length));
+                return content;
+            } catch (Exception e) {
+                logger.error("Failed to download blob: {}", blobName, e);
+                throw new RuntimeException("Failed to download blob", e);
+            }
+        });
     }
 
     public void sendQueueMessage(String message) {
-        try {
-            QueueClient queueClient = queueServiceClient.getQueueClient(queueName);
-            queueClient.sendMessage(Base64.getEncoder().encodeToString(message.getBytes()));
-            
-            logger.info("Successfully sent message to queue: {}", queueName);
-        } catch (Exception e) {
-            logger.error("Failed to send message to queue", e);
-            throw new RuntimeException("Failed to send message to queue", e);
-        }
+        Observation observation = observation("azure.queue", "send", null)
+            .highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(message.length()));
+        observation.observe(() -> {
+            try {
+                QueueClient queueClient = queueServiceClient.getQueueClient(queueName);
+                queueClient.sendMessage(Base64.getEncoder().encodeToString(message.getBytes()));
+                
+                logger.info("Successfully sent message to queue: {}", queueName);
+            } catch (Exception e) {
+                logger.error("Failed to send message to queue", e);
+                throw new RuntimeException("Failed to send message to queue", e);
+            }
+        });
     }
 
     public String receiveQueueMessage() {
@@ -16,6 +16,8 @@ import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.ProjectSubscriptionName;
 import com.google.pubsub.v1.ProjectTopicName;
 import com.google.pubsub.v1.PubsubMessage;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +32,8 @@ public class GcpService {
 
     private static final Logger logger = LoggerFactory.getLogger(GcpService.class);
 
+    private static final String PAYLOAD_SIZE_KEY = "payload.size.bytes";
+
     @Autowired
     private Storage storage;
 
@@ -45,6 +49,9 @@ public class GcpService {
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Value("${gcp.project-id}")
     private String projectId;
 
@@ -93,6 +100,19 @@ public class GcpService {
         return prefix + "/" + cleanObjectName;
     }
 
+    /**
+     * Span around one Cloud Storage or Pub/Sub call
+     */
+    private Observation observation(String name, String operation, String objectName) {
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(name + " " + operation)
+                .lowCardinalityKeyValue("operation", operation);
+        if (objectName != null) {
+            observation.highCardinalityKeyValue("object.name", objectName);
+        }
+        return observation;
+    }
+
     public String getSecret(String secretName, String version) {
         try {
             SecretVersionName secretVersionName = SecretVersionName.of(projectId, secretName, version);
@@ -105,54 +125,67 @@ public class GcpService {
     }
 
     public void uploadObject(String objectName, byte[] data) {
-        try {
-            String objectPath = buildObjectPath(objectName);
-            BlobId blobId = BlobId.of(bucketName, objectPath);
-            BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
-            storage.create(blobInfo, data);
+        Observation observation = observation("gcp.storage", "upload", objectName)
+                .highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(data.length));
+        observation.observe(() -> {
+            try {
+                String objectPath = buildObjectPath(objectName);
+                BlobId blobId = BlobId.of(bucketName, objectPath);
+                BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
+                storage.create(blobInfo, data);
 
-            logger.info("Successfully uploaded object: {} -> gs://{}/{}", objectName, bucketName, objectPath);
-        } catch (Exception e) {
-            logger.error("Failed to upload object: {}", objectName, e);
-            throw new RuntimeException("Failed to upload object", e);
-        }
+                logger.info("Successfully uploaded object: {} -> gs://{}/{}", objectName, bucketName, objectPath);
+            } catch (Exception e) {
+                logger.error("Failed to upload object: {}", objectName, e);
+                throw new RuntimeException("Failed to upload object", e);
+            }
+        });
     }
 
     public byte[] downloadObject(String objectName) {
-        try {
-            String objectPath = buildObjectPath(objectName);
-            BlobId blobId = BlobId.of(bucketName, objectPath);
-            Blob blob = storage.get(blobId);
+        Observation observation = observation("gcp.storage", "download", objectName);
+        return observation.observe(() -> {
+            try {
+                String objectPath = buildObjectPath(objectName);
+                BlobId blobId = BlobId.of(bucketName, objectPath);
+                Blob blob = storage.get(blobId);
 
-            if (blob == null) {
-                throw new RuntimeException("Object not found: " + objectPath);
-            }
+                if (blob == null) {
+                    throw new RuntimeException("Object not found: " + objectPath);
+                }
 
-            logger.info("Successfully downloaded object: gs://{}/{}", bucketName, objectPath);
-            return blob.getContent();
-        } catch (Exception e) {
-            logger.error("Failed to download object: {}", objectName, e);
-            throw new RuntimeException("Failed to download object", e);
-        }
+                byte[] content = blob.getContent();
+                observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(content.length));
+                logger.info("Successfully downloaded object: gs://{}/{}", bucketName, objectPath);
+                return content;
+            } catch (Exception e) {
+                logger.error("Failed to download object: {}", objectName, e);
+                throw new RuntimeException("Failed to download object", e);
+            }
+        });
     }
 
     public void publishMessage(String message) {
-        try {
-            ProjectTopicName topicName = ProjectTopicName.of(projectId, this.topicName);
-            Publisher publisher = Publisher.newBuilder(topicName).build();
+        Observation observation = observation("gcp.pubsub", "publish", null)
+                .highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(message.length()));
+        observation.observe(() -> {
+            try {
+                ProjectTopicName topicName = ProjectTopicName.of(projectId, this.topicName);
+                Publisher publisher = Publisher.newBuilder(topicName).build();
 
-            PubsubMessage pubsubMessage = PubsubMessage.newBuilder()
-                    .setData(ByteString.copyFromUtf8(message))
-                    .build();
+                PubsubMessage pubsubMessage = PubsubMessage.newBuilder()
+                        .setData(ByteString.copyFromUtf8(message))
+                        .build();
 
-            publisher.publish(pubsubMessage);
-            publisher.shutdown();
+                publisher.publish(pubsubMessage);
+                publisher.shutdown();
 
-            logger.info("Successfully published message to topic: {}", this.topicName);
-        } catch (Exception e) {
-            logger.error("Failed to publish message", e);
-            throw new RuntimeException("Failed to publish message", e);
-        }
+                logger.info("Successfully published message to topic: {}", this.topicName);
+            } catch (Exception e) {
+                logger.error("Failed to publish message", e);
+                throw new RuntimeException("Failed to publish message", e);
+            }
+        });
     }
 
     public void subscribeToMessages() {
@@ -0,0 +1,153 @@
+package com.example.cloudintegrationapp.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+public class AsyncJob {
+    
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+        
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+    
+    @JsonProperty("job_id")
+    private String jobId;
+    
+    @JsonProperty("reference_id")
+    private String referenceId;
+    
+    @JsonProperty("operation")
+    private String operation;
+    
+    @JsonProperty("state")
+    private State state;
+    
+    @JsonProperty("result")
+    private Object result;
+    
+    @JsonProperty("error")
+    private String error;
+    
+    @JsonProperty("created_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+    
+    @JsonProperty("started_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+    
+    @JsonProperty("finished_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+    
+    // Default constructor
+    public AsyncJob() {}
+    
+    // Constructor for a newly submitted job
+    public AsyncJob(String jobId, String referenceId, String operation) {
+        this.jobId = jobId;
+        this.referenceId = referenceId;
+        this.operation = operation;
+        this.state = State.QUEUED;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getReferenceId() {
+        return referenceId;
+    }
+    
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+    
+    public String getOperation() {
+        return operation;
+    }
+    
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    public void setState(State state) {
+        this.state = state;
+    }
+    
+    public Object getResult() {
+        return result;
+    }
+    
+    public void setResult(Object result) {
+        this.result = result;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    // Utility methods
+    @JsonIgnore
+    public boolean isFinished() {
+        return state != null && state.isTerminal();
+    }
+    
+    @Override
+    public String toString() {
+        return "AsyncJob{" +
+                "jobId='" + jobId + '\'' +
+                ", referenceId='" + referenceId + '\'' +
+                ", operation='" + operation + '\'' +
+                ", state=" + state +
+                ", error='" + error + '\'' +
+                ", createdAt=" + createdAt +
+                ", startedAt=" + startedAt +
+                ", finishedAt=" + finishedAt +
+                '}';
+    }
+}
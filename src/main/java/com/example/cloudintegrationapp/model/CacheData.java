@@ -31,6 +31,9 @@ public class CacheData {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime expiresAt;
     
+    @JsonProperty("version")
+    private Long version;
+    
     // Default constructor
     public CacheData() {}
     
@@ -42,16 +45,18 @@ public class CacheData {
         this.createdAt = LocalDateTime.now();
         this.ttlSeconds = 3600L; // Default 1 hour TTL
         this.expiresAt = this.createdAt.plusSeconds(this.ttlSeconds);
+        this.version = 1L;
     }
     
-    // Constructor with TTL
+    // Constructor with TTL; a null or non-positive TTL never expires
     public CacheData(String referenceId, String dataType, Object content, Long ttlSeconds) {
         this.referenceId = referenceId;
         this.dataType = dataType;
         this.content = content;
         this.ttlSeconds = ttlSeconds;
         this.createdAt = LocalDateTime.now();
-        this.expiresAt = this.createdAt.plusSeconds(this.ttlSeconds);
+        this.expiresAt = expiryFor(this.createdAt, ttlSeconds);
+        this.version = 1L;
     }
     
     // Getters and Setters
@@ -94,7 +99,7 @@ public class CacheData {
     public void setTtlSeconds(Long ttlSeconds) {
         this.ttlSeconds = ttlSeconds;
         if (createdAt != null) {
-            this.expiresAt = this.createdAt.plusSeconds(this.ttlSeconds);
+            this.expiresAt = expiryFor(this.createdAt, ttlSeconds);
         }
     }
     
@@ -114,6 +119,14 @@ public class CacheData {
         this.expiresAt = expiresAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Utility methods
     public boolean isExpired() {
         return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
@@ -126,6 +139,10 @@ public class CacheData {
         return java.time.Duration.between(now, expiresAt).getSeconds();
     }
     
+    private static LocalDateTime expiryFor(LocalDateTime createdAt, Long ttlSeconds) {
+        return ttlSeconds != null && ttlSeconds > 0 ? createdAt.plusSeconds(ttlSeconds) : null;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -150,6 +167,7 @@ public class CacheData {
                 ", ttlSeconds=" + ttlSeconds +
                 ", createdAt=" + createdAt +
                 ", expiresAt=" + expiresAt +
+                ", version=" + version +
                 '}';
     }
 }
@@ -11,11 +11,21 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "data_entities")
+@Table(name = "data_entities", indexes = {
+    @Index(name = "idx_data_entities_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_data_entities_category_created_id", columnList = "category, created_at, id"),
+    @Index(name = "idx_data_entities_status_created_id", columnList = "status, created_at, id")
+})
 public class DataEntity {
     
+    // Pooled sequence allocation (one nextval per 50 rows) so Hibernate can batch inserts.
+    // Must match the sequence increment; JDBC bulk writes allocate from the same blocks.
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "data_entities_id_seq")
+    @SequenceGenerator(name = "data_entities_id_seq", sequenceName = "data_entities_id_seq",
+                       allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "reference_id", unique = true, nullable = false, length = 50)
@@ -43,6 +53,7 @@ public class DataEntity {
     @Column(name = "metadata", columnDefinition = "TEXT")
     private String metadata;
     
+    // Partition key of the PostgreSQL table; never updated, as that would move the row
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
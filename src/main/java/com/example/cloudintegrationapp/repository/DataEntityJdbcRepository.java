@@ -0,0 +1,255 @@
+package com.example.cloudintegrationapp.repository;
+
+import com.example.cloudintegrationapp.model.DataEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Batched JDBC writes to data_entities. Hibernate has no upsert, so bulk writes keyed by
+ * reference_id go through plain JDBC, as does the PostgreSQL COPY ingest path.
+ */
+@Repository
+public class DataEntityJdbcRepository {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataEntityJdbcRepository.class);
+    
+    // The conflict target must match a unique constraint; on the partitioned table that
+    // constraint includes the partition key created_at (see migration V4). Rows are only
+    // matched when created_at is the stored one, so it is required on every write; V5 makes
+    // an insert under a second created_at fail instead of duplicating the reference ID.
+    private static final String POSTGRES_UPSERT =
+        "INSERT INTO data_entities (id, reference_id, name, description, category, status, metadata, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (%s) DO UPDATE SET " +
+        "name = EXCLUDED.name, description = EXCLUDED.description, category = EXCLUDED.category, " +
+        "status = EXCLUDED.status, metadata = EXCLUDED.metadata, updated_at = EXCLUDED.updated_at";
+    
+    // Existing rows keep their id, new rows take the allocated one
+    private static final String H2_UPSERT =
+        "MERGE INTO data_entities t USING (SELECT CAST(? AS BIGINT) id, CAST(? AS VARCHAR(50)) reference_id, " +
+        "CAST(? AS VARCHAR(255)) name, CAST(? AS VARCHAR(1000)) description, CAST(? AS VARCHAR(100)) category, " +
+        "CAST(? AS VARCHAR(50)) status, CAST(? AS CLOB) metadata, CAST(? AS TIMESTAMP) created_at, " +
+        "CAST(? AS TIMESTAMP) updated_at) s ON t.reference_id = s.reference_id " +
+        "WHEN MATCHED THEN UPDATE SET name = s.name, description = s.description, category = s.category, " +
+        "status = s.status, metadata = s.metadata, updated_at = s.updated_at " +
+        "WHEN NOT MATCHED THEN INSERT (id, reference_id, name, description, category, status, metadata, created_at, updated_at) " +
+        "VALUES (s.id, s.reference_id, s.name, s.description, s.category, s.status, s.metadata, s.created_at, s.updated_at)";
+    
+    private static final String INSERT =
+        "INSERT INTO data_entities (id, reference_id, name, description, category, status, metadata, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String POSTGRES_COPY =
+        "COPY data_entities (id, reference_id, name, description, category, status, metadata, created_at, updated_at) " +
+        "FROM STDIN WITH (FORMAT csv)";
+    
+    private static final String POSTGRES_NEXT_ID_BLOCKS =
+        "SELECT nextval('data_entities_id_seq') FROM generate_series(1, ?)";
+    
+    private static final String H2_NEXT_ID_BLOCK = "SELECT NEXT VALUE FOR data_entities_id_seq";
+    
+    // Rows buffered before each write to the COPY stream
+    private static final int COPY_CHUNK_ROWS = 1000;
+    
+    private static final String DELETE_BY_REFERENCE_ID = "DELETE FROM data_entities WHERE reference_id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    
+    @Autowired
+    private DataEntityPartitionRepository partitionRepository;
+    
+    // Resolved on first upsert, after schema migrations have run
+    private volatile String postgresUpsert;
+    
+    @Autowired
+    public DataEntityJdbcRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = isPostgres(dataSource);
+        logger.info("Data entity JDBC repository using {} upsert", postgres ? "PostgreSQL" : "H2");
+    }
+    
+    /**
+     * Insert or update entities by reference_id in JDBC batches of the given size
+     */
+    public int upsertBatch(List<DataEntity> entities, int batchSize) {
+        Iterator<Long> ids = allocateIds(entities.size()).iterator();
+        jdbcTemplate.batchUpdate(postgres ? getPostgresUpsert() : H2_UPSERT, entities, batchSize,
+            (ps, entity) -> bindRow(ps, ids.next(), entity));
+        return entities.size();
+    }
+    
+    /**
+     * Insert new entities in JDBC batches of the given size, assigning their ids
+     */
+    public int insertBatch(List<DataEntity> entities, int batchSize) {
+        Iterator<Long> ids = allocateIds(entities.size()).iterator();
+        jdbcTemplate.batchUpdate(INSERT, entities, batchSize, (ps, entity) -> {
+            long id = ids.next();
+            entity.setId(id);
+            bindRow(ps, id, entity);
+        });
+        return entities.size();
+    }
+    
+    /**
+     * Insert new entities with PostgreSQL COPY, assigning their ids. Rows are streamed to
+     * the server in CSV chunks inside a single COPY command, which avoids per-row
+     * statement overhead entirely. Fails as a whole on any conflicting reference_id.
+     */
+    public long copyIn(List<DataEntity> entities) {
+        if (!postgres) {
+            throw new UnsupportedOperationException("COPY is only supported on PostgreSQL");
+        }
+        Iterator<Long> ids = allocateIds(entities.size()).iterator();
+        
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(POSTGRES_COPY);
+            try {
+                StringBuilder chunk = new StringBuilder();
+                int rows = 0;
+                for (DataEntity entity : entities) {
+                    long id = ids.next();
+                    entity.setId(id);
+                    appendCsvRow(chunk, id, entity);
+                    if (++rows % COPY_CHUNK_ROWS == 0) {
+                        writeChunk(copy, chunk);
+                    }
+                }
+                writeChunk(copy, chunk);
+                return copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        });
+        return copied != null ? copied : 0;
+    }
+    
+    /**
+     * Reserve ids from data_entities_id_seq. Each nextval hands out a block of
+     * DataEntity.ID_ALLOCATION_SIZE ids starting at the returned value, the same
+     * pooled-lo scheme Hibernate uses, so JDBC and JPA inserts never collide.
+     */
+    public List<Long> allocateIds(int count) {
+        int blocks = (count + DataEntity.ID_ALLOCATION_SIZE - 1) / DataEntity.ID_ALLOCATION_SIZE;
+        List<Long> starts = new ArrayList<>(blocks);
+        if (postgres) {
+            starts.addAll(jdbcTemplate.queryForList(POSTGRES_NEXT_ID_BLOCKS, Long.class, blocks));
+        } else {
+            for (int i = 0; i < blocks; i++) {
+                starts.add(jdbcTemplate.queryForObject(H2_NEXT_ID_BLOCK, Long.class));
+            }
+        }
+        
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : starts) {
+            for (int i = 0; i < DataEntity.ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(start + i);
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * Delete entities by reference_id in JDBC batches of the given size
+     */
+    public int deleteBatch(List<String> referenceIds, int batchSize) {
+        jdbcTemplate.batchUpdate(DELETE_BY_REFERENCE_ID, referenceIds, batchSize,
+            (ps, referenceId) -> ps.setString(1, referenceId));
+        return referenceIds.size();
+    }
+    
+    public boolean isPostgres() {
+        return postgres;
+    }
+    
+    private String getPostgresUpsert() {
+        if (postgresUpsert == null) {
+            boolean partitioned = partitionRepository.isPartitioned();
+            postgresUpsert = String.format(POSTGRES_UPSERT, partitioned ? "reference_id, created_at" : "reference_id");
+            logger.info("Upserting into {} data_entities table", partitioned ? "partitioned" : "unpartitioned");
+        }
+        return postgresUpsert;
+    }
+    
+    private static void bindRow(PreparedStatement ps, long id, DataEntity entity) throws SQLException {
+        LocalDateTime createdAt = requireCreatedAt(entity);
+        LocalDateTime updatedAt = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : createdAt;
+        ps.setLong(1, id);
+        ps.setString(2, entity.getReferenceId());
+        ps.setString(3, entity.getName());
+        ps.setString(4, entity.getDescription());
+        ps.setString(5, entity.getCategory());
+        ps.setString(6, entity.getStatus());
+        ps.setString(7, entity.getMetadata());
+        ps.setTimestamp(8, Timestamp.valueOf(createdAt));
+        ps.setTimestamp(9, Timestamp.valueOf(updatedAt));
+    }
+    
+    private static void appendCsvRow(StringBuilder out, long id, DataEntity entity) {
+        LocalDateTime createdAt = requireCreatedAt(entity);
+        LocalDateTime updatedAt = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : createdAt;
+        out.append(id).append(',');
+        appendCsvValue(out, entity.getReferenceId()).append(',');
+        appendCsvValue(out, entity.getName()).append(',');
+        appendCsvValue(out, entity.getDescription()).append(',');
+        appendCsvValue(out, entity.getCategory()).append(',');
+        appendCsvValue(out, entity.getStatus()).append(',');
+        appendCsvValue(out, entity.getMetadata()).append(',');
+        out.append(createdAt).append(',').append(updatedAt).append('\n');
+    }
+    
+    // Defaulting to the current time would insert a second row for an existing entity
+    private static LocalDateTime requireCreatedAt(DataEntity entity) {
+        if (entity.getCreatedAt() == null) {
+            throw new IllegalArgumentException("createdAt is required to write reference ID: " + entity.getReferenceId());
+        }
+        return entity.getCreatedAt();
+    }
+    
+    // Unquoted empty fields are NULL in CSV COPY, quoted ones are empty strings
+    private static StringBuilder appendCsvValue(StringBuilder out, String value) {
+        if (value != null) {
+            out.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return out;
+    }
+    
+    private static void writeChunk(CopyIn copy, StringBuilder chunk) throws SQLException {
+        if (chunk.length() > 0) {
+            byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            chunk.setLength(0);
+        }
+    }
+    
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return product != null && product.toLowerCase().contains("postgres");
+        } catch (Exception e) {
+            logger.warn("Could not determine database product, assuming H2 syntax", e);
+            return false;
+        }
+    }
+}
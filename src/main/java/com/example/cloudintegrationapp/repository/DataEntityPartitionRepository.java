@@ -0,0 +1,89 @@
+package com.example.cloudintegrationapp.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DDL for the monthly range partitions of data_entities on PostgreSQL. Partitions are
+ * named data_entities_pYYYYMM and cover [first of month, first of next month).
+ */
+@Repository
+public class DataEntityPartitionRepository {
+    
+    private static final String PARTITION_PREFIX = "data_entities_p";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    private static final String IS_PARTITIONED =
+        "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+        "WHERE c.relname = 'data_entities' AND pg_table_is_visible(c.oid))";
+    
+    private static final String LIST_PARTITIONS =
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+        "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'data_entities' AND pg_table_is_visible(p.oid) " +
+        "ORDER BY c.relname";
+    
+    private static final String RELEASE_REFERENCES =
+        "DELETE FROM data_entity_references WHERE created_at >= ? AND created_at < ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+    
+    /**
+     * Months that currently have their own partition, oldest first
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS, String.class).stream()
+            .map(DataEntityPartitionRepository::parseMonth)
+            .flatMap(Optional::stream)
+            .sorted()
+            .toList();
+    }
+    
+    /**
+     * Create the partition for the month unless it already exists
+     */
+    public void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF data_entities FOR VALUES FROM ('%s') TO ('%s')",
+            partitionName(month), month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay()));
+    }
+    
+    /**
+     * Detach the month's partition and drop it with all its rows, releasing their
+     * reference IDs (dropping a table fires no delete triggers). PostgreSQL DDL is
+     * transactional, so a failure leaves the partition attached with its references.
+     */
+    @Transactional
+    public void dropMonthlyPartition(YearMonth month) {
+        String name = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE data_entities DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+        jdbcTemplate.update(RELEASE_REFERENCES, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+    
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+    }
+    
+    private static Optional<YearMonth> parseMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+}
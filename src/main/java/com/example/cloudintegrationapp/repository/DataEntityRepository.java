@@ -1,25 +1,49 @@
 package com.example.cloudintegrationapp.repository;
 
 import com.example.cloudintegrationapp.model.DataEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Query methods run in read-only transactions so that, with datasource routing enabled,
+ * they are served by a read replica. Lookups by reference ID back the cache read-through
+ * and must see the latest write, so they stay on the primary. Derived methods that write
+ * must be declared read-write too, or they would run on a replica.
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface DataEntityRepository extends JpaRepository<DataEntity, Long> {
     
     /**
      * Find data entity by reference ID
      */
+    @Transactional
     Optional<DataEntity> findByReferenceId(String referenceId);
     
+    /**
+     * Find data entity by reference ID within a creation time window. On the partitioned
+     * table the created_at bounds limit the lookup to the partitions covering the window.
+     */
+    @Transactional
+    Optional<DataEntity> findByReferenceIdAndCreatedAtBetween(String referenceId, LocalDateTime createdFrom,
+                                                              LocalDateTime createdTo);
+    
     /**
      * Check if data entity exists by reference ID
      */
+    @Transactional
     boolean existsByReferenceId(String referenceId);
     
     /**
@@ -58,6 +82,93 @@ public interface DataEntityRepository extends JpaRepository<DataEntity, Long> {
                                            @Param("status") String status, 
                                            @Param("name") String name);
     
+    // ===== KEYSET PAGINATION =====
+    // Pages are ordered by (created_at, id) and continue after the last row of the previous
+    // page, so each page is an index range scan regardless of how deep the caller has paged.
+    // The redundant createdAt >= bound lets the database use it as the index start key and,
+    // on the partitioned table, skip partitions older than the cursor.
+    
+    String SUMMARY_COLUMNS = "SELECT d.id AS id, d.referenceId AS referenceId, d.name AS name, " +
+                             "d.category AS category, d.status AS status, d.createdAt AS createdAt FROM DataEntity d ";
+    
+    String AFTER_CURSOR = "d.createdAt >= :afterCreatedAt AND " +
+                          "(d.createdAt > :afterCreatedAt OR d.id > :afterId) ";
+    
+    String KEYSET_ORDER = "ORDER BY d.createdAt ASC, d.id ASC";
+    
+    /**
+     * Page of entity summaries after the given (createdAt, id) position
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE " + AFTER_CURSOR + KEYSET_ORDER)
+    List<DataEntitySummary> findSummariesAfter(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+    
+    /**
+     * Page of entity summaries in a category after the given (createdAt, id) position
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE d.category = :category AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<DataEntitySummary> findSummariesByCategoryAfter(@Param("category") String category,
+                                                         @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                         @Param("afterId") Long afterId,
+                                                         Pageable pageable);
+    
+    /**
+     * Page of entity summaries with a status after the given (createdAt, id) position
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE d.status = :status AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<DataEntitySummary> findSummariesByStatusAfter(@Param("status") String status,
+                                                       @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
+    
+    /**
+     * Page of entity summaries with a category and status after the given (createdAt, id) position
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE d.category = :category AND d.status = :status AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<DataEntitySummary> findSummariesByCategoryAndStatusAfter(@Param("category") String category,
+                                                                  @Param("status") String status,
+                                                                  @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                                  @Param("afterId") Long afterId,
+                                                                  Pageable pageable);
+    
+    // ===== STREAMING =====
+    // Must be consumed inside a read-only transaction and closed afterwards.
+    
+    /**
+     * Stream summaries of a category with a server-side cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_COLUMNS + "WHERE d.category = :category " + KEYSET_ORDER)
+    Stream<DataEntitySummary> streamSummariesByCategory(@Param("category") String category);
+    
+    /**
+     * Stream all summaries with a server-side cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_COLUMNS + KEYSET_ORDER)
+    Stream<DataEntitySummary> streamSummaries();
+    
+    // ===== NAME SEARCH =====
+    
+    /**
+     * Substring name search for PostgreSQL, served by the pg_trgm GIN index on name.
+     * The name is matched literally once %, _ and \ are escaped with a backslash.
+     */
+    @Query(value = "SELECT id AS \"id\", reference_id AS \"referenceId\", name AS \"name\", " +
+                   "category AS \"category\", status AS \"status\", created_at AS \"createdAt\" " +
+                   "FROM data_entities WHERE name ILIKE CONCAT('%', :name, '%') ESCAPE '\\' " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<DataEntitySummary> searchSummariesByNameTrigram(@Param("name") String name, @Param("limit") int limit);
+    
+    /**
+     * Portable substring name search, used on databases without pg_trgm. Escaped like
+     * searchSummariesByNameTrigram.
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' ORDER BY d.createdAt DESC, d.id DESC")
+    List<DataEntitySummary> searchSummariesByName(@Param("name") String name, Pageable pageable);
+    
     /**
      * Count entities by category
      */
@@ -71,5 +182,6 @@ public interface DataEntityRepository extends JpaRepository<DataEntity, Long> {
     /**
      * Delete entity by reference ID
      */
+    @Transactional
     void deleteByReferenceId(String referenceId);
 }
@@ -0,0 +1,25 @@
+package com.example.cloudintegrationapp.repository;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of DataEntity for list views. Selecting only these columns
+ * avoids hydrating and tracking full entities (description and metadata can be large).
+ */
+public interface DataEntitySummary {
+    
+    Long getId();
+    
+    String getReferenceId();
+    
+    String getName();
+    
+    String getCategory();
+    
+    String getStatus();
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,213 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.model.AsyncJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs background jobs on the dedicated data job executor and tracks their state in Redis
+ * (cloud-integration:job:<jobId>), so any instance can report a job's status and result.
+ */
+@Service
+public class AsyncJobService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AsyncJobService.class);
+    
+    @Autowired
+    private RedisCacheService redisCacheService;
+    
+    @Autowired
+    private ReferenceIdGenerator referenceIdGenerator;
+    
+    @Autowired
+    @Qualifier("dataJobExecutor")
+    private ExecutorService dataJobExecutor;
+    
+    @Value("${app.async.job-ttl-seconds:86400}")
+    private long jobTtlSeconds;
+    
+    private final Semaphore admission;
+    
+    // Jobs running on this instance, used for cancellation
+    private final Map<String, JobHandle> localJobs = new ConcurrentHashMap<>();
+    
+    public AsyncJobService(@Value("${app.async.max-concurrent-jobs:64}") int maxConcurrentJobs) {
+        this.admission = new Semaphore(maxConcurrentJobs);
+    }
+    
+    /**
+     * Submit a job. Returns empty when the maximum number of concurrent jobs is reached.
+     */
+    public Optional<AsyncJob> submit(String referenceId, String operation, Callable<ApiResponse<?>> work) {
+        if (!admission.tryAcquire()) {
+            logger.warn("Rejected job {} for reference ID: {}, too many concurrent jobs", operation, referenceId);
+            return Optional.empty();
+        }
+        
+        AsyncJob job = new AsyncJob(referenceIdGenerator.generateReferenceId("JOB"), referenceId, operation);
+        JobHandle handle = new JobHandle(job);
+        localJobs.put(job.getJobId(), handle);
+        saveJob(job);
+        
+        try {
+            handle.future = dataJobExecutor.submit(() -> run(handle, work));
+        } catch (RejectedExecutionException e) {
+            release(handle);
+            logger.error("Executor rejected job {} for reference ID: {}", job.getJobId(), referenceId, e);
+            transition(handle, AsyncJob.State.FAILED, null, "Job could not be scheduled");
+            return Optional.empty();
+        }
+        
+        logger.info("Submitted job {} ({}) for reference ID: {}", job.getJobId(), operation, referenceId);
+        return Optional.of(job);
+    }
+    
+    /**
+     * Current state of a job
+     */
+    public Optional<AsyncJob> getJob(String jobId) {
+        return redisCacheService.getValue(generateJobKey(jobId), AsyncJob.class);
+    }
+    
+    /**
+     * Cancel a queued or running job owned by this instance
+     */
+    public Optional<AsyncJob> cancel(String jobId) {
+        JobHandle handle = localJobs.get(jobId);
+        if (handle == null) {
+            return Optional.empty();
+        }
+        
+        AsyncJob.State previous = transitionFrom(handle, AsyncJob.State.CANCELLED, null, "Cancelled by request");
+        if (previous != null) {
+            Future<?> future = handle.future;
+            // A job cancelled while queued never runs, so its run never releases it
+            if (future != null && future.cancel(true) && previous == AsyncJob.State.QUEUED) {
+                release(handle);
+            }
+            logger.info("Cancelled job {}", jobId);
+        }
+        return Optional.of(handle.job);
+    }
+    
+    public int getAvailablePermits() {
+        return admission.availablePermits();
+    }
+    
+    private void run(JobHandle handle, Callable<ApiResponse<?>> work) {
+        AsyncJob job = handle.job;
+        try {
+            if (!transition(handle, AsyncJob.State.RUNNING, null, null)) {
+                return;
+            }
+            
+            ApiResponse<?> response = work.call();
+            if (response.isSuccess()) {
+                transition(handle, AsyncJob.State.COMPLETED, response, null);
+            } else {
+                transition(handle, AsyncJob.State.FAILED, null, response.getError());
+            }
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            transition(handle, AsyncJob.State.CANCELLED, null, "Interrupted");
+        } catch (Exception e) {
+            logger.error("Job {} failed for reference ID: {}", job.getJobId(), job.getReferenceId(), e);
+            transition(handle, AsyncJob.State.FAILED, null, e.getMessage());
+        } finally {
+            release(handle);
+        }
+    }
+    
+    /**
+     * Give back the job's admission permit and stop tracking it; only the first call of
+     * the paths that can end a job has any effect
+     */
+    private void release(JobHandle handle) {
+        if (handle.released.compareAndSet(false, true)) {
+            localJobs.remove(handle.job.getJobId());
+            admission.release();
+        }
+    }
+    
+    private boolean transition(JobHandle handle, AsyncJob.State target, Object result, String error) {
+        return transitionFrom(handle, target, result, error) != null;
+    }
+    
+    /**
+     * Move a job to a new state unless it already reached a terminal one, and persist it
+     *
+     * @return the state the job moved from, or null when it did not move
+     */
+    private AsyncJob.State transitionFrom(JobHandle handle, AsyncJob.State target, Object result, String error) {
+        AsyncJob.State current;
+        do {
+            current = handle.state.get();
+            if (current.isTerminal() || (target == AsyncJob.State.RUNNING && current != AsyncJob.State.QUEUED)) {
+                return null;
+            }
+        } while (!handle.state.compareAndSet(current, target));
+        
+        // A ReentrantLock rather than synchronized, so the virtual thread is not pinned during the Redis write
+        handle.lock.lock();
+        try {
+            AsyncJob job = handle.job;
+            if (target == AsyncJob.State.RUNNING) {
+                job.setStartedAt(LocalDateTime.now());
+            } else {
+                job.setFinishedAt(LocalDateTime.now());
+                job.setResult(result);
+                job.setError(error);
+            }
+            // A concurrent transition may have overtaken this one; it persists the newer state
+            if (handle.state.get() == target) {
+                job.setState(target);
+                saveJob(job);
+            }
+        } finally {
+            handle.lock.unlock();
+        }
+        logger.debug("Job {} moved from {} to {}", handle.job.getJobId(), current, target);
+        return current;
+    }
+    
+    private void saveJob(AsyncJob job) {
+        if (!redisCacheService.storeValue(generateJobKey(job.getJobId()), job, jobTtlSeconds)) {
+            logger.warn("Failed to persist state {} for job {}", job.getState(), job.getJobId());
+        }
+    }
+    
+    private String generateJobKey(String jobId) {
+        return "cloud-integration:job:" + jobId;
+    }
+    
+    private static class JobHandle {
+        private final AsyncJob job;
+        private final AtomicReference<AsyncJob.State> state = new AtomicReference<>(AsyncJob.State.QUEUED);
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Future<?> future;
+        
+        JobHandle(AsyncJob job) {
+            this.job = job;
+        }
+    }
+}
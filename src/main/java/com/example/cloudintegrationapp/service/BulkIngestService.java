@@ -0,0 +1,141 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.model.DataEntity;
+import com.example.cloudintegrationapp.repository.DataEntityJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk ingest of new data entities straight into the data_entities table.
+ *
+ * Loads below the COPY threshold are persisted through JPA in batches; ids come from the
+ * pooled sequence so Hibernate groups the inserts into JDBC batches. Larger loads on
+ * PostgreSQL are streamed with COPY. Entities are not cached; reads load them through.
+ */
+@Service
+public class BulkIngestService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestService.class);
+    
+    public enum Mode { AUTO, BATCH, COPY }
+    
+    @Autowired
+    private DataEntityJdbcRepository dataEntityJdbcRepository;
+    
+    @Autowired
+    private ReferenceIdGenerator referenceIdGenerator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.bulk-ingest.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.bulk-ingest.copy-threshold:10000}")
+    private int copyThreshold;
+    
+    private final MeterRegistry meterRegistry;
+    
+    public BulkIngestService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Insert the given entities. Each entry needs a name; description and category are optional.
+     * The response carries the generated reference IDs and throughput figures in its metadata.
+     */
+    public ApiResponse<List<String>> ingest(List<Map<String, String>> entityDataList, Mode mode) {
+        List<DataEntity> entities = new ArrayList<>(entityDataList.size());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (Map<String, String> entityData : entityDataList) {
+            String name = entityData.get("name");
+            if (name == null || name.trim().isEmpty()) {
+                continue;
+            }
+            DataEntity entity = new DataEntity(referenceIdGenerator.generateReferenceId(), name, entityData.get("description"));
+            entity.setCategory(entityData.get("category"));
+            entity.setCreatedAt(now);
+            entity.setUpdatedAt(now);
+            entities.add(entity);
+        }
+        
+        if (mode == Mode.COPY && !dataEntityJdbcRepository.isPostgres()) {
+            return ApiResponse.error("COPY ingest requires PostgreSQL");
+        }
+        boolean useCopy = mode == Mode.COPY
+            || (mode == Mode.AUTO && dataEntityJdbcRepository.isPostgres() && entities.size() >= copyThreshold);
+        String path = useCopy ? "copy" : "batch";
+        
+        try {
+            long start = System.nanoTime();
+            long rows = useCopy ? dataEntityJdbcRepository.copyIn(entities) : persistInBatches(entities);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            double rowsPerSecond = elapsed.toNanos() > 0 ? rows * 1_000_000_000.0 / elapsed.toNanos() : rows;
+            
+            Timer.builder("bulk_ingest.duration").tag("path", path).register(meterRegistry).record(elapsed);
+            meterRegistry.counter("bulk_ingest.rows", "path", path).increment(rows);
+            DistributionSummary.builder("bulk_ingest.throughput")
+                .baseUnit("rows_per_second")
+                .tag("path", path)
+                .register(meterRegistry)
+                .record(rowsPerSecond);
+            
+            List<String> referenceIds = entities.stream().map(DataEntity::getReferenceId).toList();
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("path", path);
+            metadata.put("rows", rows);
+            metadata.put("durationMs", elapsed.toMillis());
+            metadata.put("rowsPerSecond", Math.round(rowsPerSecond));
+            
+            ApiResponse<List<String>> response = ApiResponse.success("Bulk ingest completed", referenceIds);
+            response.setMetadata(metadata);
+            logger.info("Bulk ingested {} data entities via {} in {} ms ({} rows/s)",
+                rows, path, elapsed.toMillis(), Math.round(rowsPerSecond));
+            return response;
+            
+        } catch (Exception e) {
+            meterRegistry.counter("bulk_ingest.failed", "path", path).increment();
+            logger.error("Error in bulk ingest of {} data entities via {}", entities.size(), path, e);
+            return ApiResponse.error("Error in bulk ingest: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Persist through JPA in one transaction, flushing and clearing the persistence
+     * context every batch so each flush is one JDBC batch and memory stays bounded
+     */
+    private long persistInBatches(List<DataEntity> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < entities.size(); i++) {
+                entityManager.persist(entities.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return entities.size();
+    }
+}
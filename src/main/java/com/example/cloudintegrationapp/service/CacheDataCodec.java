@@ -0,0 +1,171 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.CacheData;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis value format for CacheData: a header line with every field except the content,
+ * then the content as JSON on the next line. Jackson never escapes a raw newline into
+ * compact JSON, so the first newline always ends the header. Type, version and expiry can
+ * therefore be read without parsing the content, and the Lua scripts split on the same
+ * newline. Values written before the header line existed (a single CacheData JSON object)
+ * are still decoded.
+ * <p>
+ * The header's ttl_seconds and expires_at describe the entry as stored; Redis's own TTL
+ * decides when it disappears, so readers never check expiry themselves.
+ */
+@Component
+public class CacheDataCodec {
+    
+    private static final char HEADER_SEPARATOR = '\n';
+    
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter headerWriter;
+    private final ObjectReader headerReader;
+    // Reads content as a tree without rounding numbers or dropping trailing zeros
+    private final ObjectReader exactTreeReader;
+    
+    public CacheDataCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.exactTreeReader = objectMapper.reader()
+            .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .without(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES);
+        ObjectMapper headerMapper = objectMapper.copy()
+            .addMixIn(CacheData.class, HeaderMixin.class)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.headerWriter = headerMapper.writerFor(CacheData.class);
+        this.headerReader = headerMapper.readerFor(CacheData.class);
+    }
+    
+    public String encode(CacheData cacheData) throws JsonProcessingException {
+        return headerWriter.writeValueAsString(cacheData) + HEADER_SEPARATOR
+            + objectMapper.writeValueAsString(cacheData.getContent());
+    }
+    
+    public CacheData decode(String value) throws JsonProcessingException {
+        return decode(value, null);
+    }
+    
+    /**
+     * @param dataType only decode entries of this data type, or null for any
+     * @return the entry, or null when it has another data type; the content of such
+     *         entries is never parsed
+     */
+    public CacheData decode(String value, String dataType) throws JsonProcessingException {
+        int separator = value.indexOf(HEADER_SEPARATOR);
+        if (separator < 0) {
+            CacheData cacheData = objectMapper.readValue(value, CacheData.class);
+            return dataType == null || dataType.equals(cacheData.getDataType()) ? cacheData : null;
+        }
+        CacheData cacheData = headerReader.readValue(value.substring(0, separator));
+        if (dataType != null && !dataType.equals(cacheData.getDataType())) {
+            return null;
+        }
+        cacheData.setContent(objectMapper.readValue(value.substring(separator + 1), Object.class));
+        return cacheData;
+    }
+    
+    /**
+     * Everything but the content, which is left null; older single-object values are
+     * parsed in full
+     */
+    public CacheData decodeHeader(String value) throws JsonProcessingException {
+        int separator = value.indexOf(HEADER_SEPARATOR);
+        if (separator < 0) {
+            CacheData cacheData = objectMapper.readValue(value, CacheData.class);
+            cacheData.setContent(null);
+            return cacheData;
+        }
+        return headerReader.readValue(value.substring(0, separator));
+    }
+    
+    /**
+     * Whether the value starts with a header line; older single-object values do not
+     */
+    public boolean hasHeader(String value) {
+        return value.indexOf(HEADER_SEPARATOR) >= 0;
+    }
+    
+    /**
+     * Top-level text fields of the content, streamed past the rest of it without building
+     * a tree. Names that are missing, empty or not text are left out, as is everything when
+     * the content is not an object.
+     */
+    public Map<String, String> contentTextFields(String value, Collection<String> names) throws IOException {
+        int separator = value.indexOf(HEADER_SEPARATOR);
+        String content = separator < 0
+            ? objectMapper.writeValueAsString(exactTreeReader.readTree(value).path("content"))
+            : value.substring(separator + 1);
+        
+        Map<String, String> found = new HashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return found;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_STRING && names.contains(name) && !parser.getText().isEmpty()) {
+                    found.put(name, parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Re-encode a value with a new header and the given fields set on its content. Without
+     * fields the content is kept byte for byte, whatever its type. With fields the content
+     * must be an object; fields not being set keep their order and exact value, so empty
+     * arrays stay arrays and numbers keep every digit. Older single-object values come
+     * back in the header-first format.
+     *
+     * @param header fields to write in the header line; its content is ignored
+     * @return the new value, or null when there are fields to set but the content is not an object
+     */
+    public String patch(String value, CacheData header, Map<String, Object> fields) throws JsonProcessingException {
+        int separator = value.indexOf(HEADER_SEPARATOR);
+        String content;
+        if (separator < 0) {
+            JsonNode legacyContent = exactTreeReader.readTree(value).get("content");
+            content = objectMapper.writeValueAsString(legacyContent != null ? legacyContent : NullNode.getInstance());
+        } else {
+            content = value.substring(separator + 1);
+        }
+        
+        if (!fields.isEmpty()) {
+            JsonNode tree = exactTreeReader.readTree(content);
+            if (!tree.isObject()) {
+                return null;
+            }
+            ObjectNode object = (ObjectNode) tree;
+            fields.forEach((name, fieldValue) -> object.set(name, objectMapper.valueToTree(fieldValue)));
+            content = objectMapper.writeValueAsString(object);
+        }
+        return headerWriter.writeValueAsString(header) + HEADER_SEPARATOR + content;
+    }
+    
+    // Derived getters are left out too: a stored "expired" flag would only ever be stale
+    @JsonIgnoreProperties(value = {"content", "expired", "remainingTtl"}, ignoreUnknown = true)
+    private abstract static class HeaderMixin {
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.cloudintegrationapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Micrometer meters for cache operations: latency per operation, data type and outcome,
+ * serialized payload sizes and serialization time. Cache statistics are read back from
+ * these meters, so reporting them costs no Redis round trip.
+ */
+@Component
+public class CacheMetrics {
+    
+    public static final String OPERATION_TIMER = "cache.operation";
+    public static final String PAYLOAD_SUMMARY = "cache.payload.size";
+    public static final String SERIALIZATION_TIMER = "cache.serialization";
+    public static final String BULK_ENTRY_COUNTER = "cache.bulk.entries";
+    
+    public static final String OUTCOME_HIT = "hit";
+    public static final String OUTCOME_MISS = "miss";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_SKIPPED = "skipped";
+    public static final String OUTCOME_ERROR = "error";
+    
+    static final String UNKNOWN_DATA_TYPE = "unknown";
+    
+    // dataType comes from API callers, so cap the distinct tag values it can create
+    private static final int MAX_DATA_TYPES = 50;
+    private static final String OTHER_DATA_TYPE = "other";
+    
+    private final MeterRegistry meterRegistry;
+    private final Set<String> dataTypes = ConcurrentHashMap.newKeySet();
+    
+    public CacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+    
+    public void record(Timer.Sample sample, String operation, String dataType, String outcome) {
+        sample.stop(Timer.builder(OPERATION_TIMER)
+            .description("Latency of cache operations")
+            .tags("operation", operation, "dataType", dataTypeTag(dataType), "outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+    
+    /**
+     * @param direction "write" for stored payloads, "read" for fetched ones
+     */
+    public void recordPayload(String direction, String dataType, long bytes, long serializationNanos) {
+        String tag = dataTypeTag(dataType);
+        DistributionSummary.builder(PAYLOAD_SUMMARY)
+            .description("Size of serialized cache entries")
+            .baseUnit("bytes")
+            .tags("direction", direction, "dataType", tag)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(bytes);
+        Timer.builder(SERIALIZATION_TIMER)
+            .description("Time spent converting cache entries to and from JSON")
+            .tags("direction", direction, "dataType", tag)
+            .register(meterRegistry)
+            .record(serializationNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordBulkEntries(String outcome, long count) {
+        if (count > 0) {
+            Counter.builder(BULK_ENTRY_COUNTER)
+                .description("Entries requested by bulk cache reads")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(count);
+        }
+    }
+    
+    /**
+     * Snapshot of the cache meters since startup: per-operation counts and latency, read hit
+     * ratio, payload sizes and serialization time
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Aggregate> operations = new TreeMap<>();
+        Map<String, Long> readOutcomes = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(OPERATION_TIMER).timers()) {
+            String operation = timer.getId().getTag("operation");
+            String outcome = timer.getId().getTag("outcome");
+            operations.computeIfAbsent(operation, key -> new Aggregate()).add(timer, outcome);
+            if ("get".equals(operation)) {
+                readOutcomes.merge(outcome, timer.count(), Long::sum);
+            }
+        }
+        for (Counter counter : meterRegistry.find(BULK_ENTRY_COUNTER).counters()) {
+            readOutcomes.merge(counter.getId().getTag("outcome"), (long) counter.count(), Long::sum);
+        }
+        
+        long hits = readOutcomes.getOrDefault(OUTCOME_HIT, 0L);
+        long reads = hits + readOutcomes.getOrDefault(OUTCOME_MISS, 0L);
+        
+        Map<String, Object> payloads = new TreeMap<>();
+        meterRegistry.find(PAYLOAD_SUMMARY).summaries().stream()
+            .collect(Collectors.groupingBy(summary -> summary.getId().getTag("direction")))
+            .forEach((direction, summaries) -> {
+                long count = summaries.stream().mapToLong(DistributionSummary::count).sum();
+                double total = summaries.stream().mapToDouble(DistributionSummary::totalAmount).sum();
+                Map<String, Object> sizes = new LinkedHashMap<>();
+                sizes.put("count", count);
+                sizes.put("mean_bytes", count > 0 ? total / count : 0.0);
+                sizes.put("max_bytes", summaries.stream().mapToDouble(DistributionSummary::max).max().orElse(0.0));
+                payloads.put(direction, sizes);
+            });
+        
+        Map<String, Aggregate> serialization = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(SERIALIZATION_TIMER).timers()) {
+            serialization.computeIfAbsent(timer.getId().getTag("direction"), key -> new Aggregate()).add(timer, null);
+        }
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("read_hit_ratio", reads > 0 ? (double) hits / reads : null);
+        stats.put("read_outcomes", readOutcomes);
+        stats.put("operations", toMap(operations));
+        stats.put("payload_sizes", payloads);
+        stats.put("serialization", toMap(serialization));
+        return stats;
+    }
+    
+    private String dataTypeTag(String dataType) {
+        if (dataType == null || dataType.isBlank()) {
+            return UNKNOWN_DATA_TYPE;
+        }
+        if (dataTypes.contains(dataType) || (dataTypes.size() < MAX_DATA_TYPES && dataTypes.add(dataType))) {
+            return dataType;
+        }
+        return OTHER_DATA_TYPE;
+    }
+    
+    private static Map<String, Object> toMap(Map<String, Aggregate> aggregates) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        aggregates.forEach((name, aggregate) -> result.put(name, aggregate.toMap()));
+        return result;
+    }
+    
+    /**
+     * Timers merged across tags
+     */
+    private static class Aggregate {
+        
+        private long count;
+        private double totalMillis;
+        private double maxMillis;
+        private final Map<String, Long> outcomes = new TreeMap<>();
+        
+        void add(Timer timer, String outcome) {
+            count += timer.count();
+            totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+            maxMillis = Math.max(maxMillis, timer.max(TimeUnit.MILLISECONDS));
+            if (outcome != null) {
+                outcomes.merge(outcome, timer.count(), Long::sum);
+            }
+        }
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("mean_ms", count > 0 ? totalMillis / count : 0.0);
+            map.put("max_ms", maxMillis);
+            if (!outcomes.isEmpty()) {
+                map.put("outcomes", outcomes);
+            }
+            return map;
+        }
+    }
+}
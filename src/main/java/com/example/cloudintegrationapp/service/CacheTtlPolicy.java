@@ -0,0 +1,155 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.CacheData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads out cache expiry so that entries written together do not all expire together.
+ * <ul>
+ * <li>Jitter: on write, each TTL is shortened by a random fraction of up to jitter-ratio.</li>
+ * <li>Early refresh: on read, an entry of a refreshable data type is reloaded before it
+ * expires with a probability that rises as expiry approaches and with the time a reload
+ * takes (the XFetch rule: refresh when now - delta * beta * ln(random) passes the
+ * expiry). A beta of 0 turns it off; values above 1 refresh earlier.</li>
+ * </ul>
+ * Both settings are read from app.cache.ttl and can be overridden per data type under
+ * app.cache.ttl.data-types.
+ */
+@Component
+@ConfigurationProperties("app.cache.ttl")
+public class CacheTtlPolicy {
+    
+    // Weight of the newest sample in the per-type reload time average
+    private static final double RECOMPUTE_SMOOTHING = 0.2;
+    
+    private double jitterRatio = 0.1;
+    private double earlyRefreshBeta = 0.0;
+    // Reload time assumed until a data type has been reloaded once
+    private Duration recomputeEstimate = Duration.ofMillis(100);
+    private Map<String, DataTypePolicy> dataTypes = new HashMap<>();
+    
+    private final Map<String, Double> recomputeMillis = new ConcurrentHashMap<>();
+    private final Counter earlyRefreshCounter;
+    
+    public CacheTtlPolicy(MeterRegistry meterRegistry) {
+        this.earlyRefreshCounter = Counter.builder("cache.early_refresh")
+            .description("Cache entries reloaded ahead of their expiry")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Shorten the entry's TTL by a random share of up to the data type's jitter ratio.
+     * Entries without a TTL are left alone.
+     */
+    public void applyJitter(CacheData cacheData) {
+        Long ttlSeconds = cacheData.getTtlSeconds();
+        double ratio = jitterRatio(cacheData.getDataType());
+        if (ttlSeconds == null || ttlSeconds <= 1 || ratio <= 0) {
+            return;
+        }
+        long jitter = (long) (ttlSeconds * ratio * ThreadLocalRandom.current().nextDouble());
+        cacheData.setTtlSeconds(Math.max(1, ttlSeconds - jitter));
+    }
+    
+    /**
+     * Whether this read should reload the entry ahead of its expiry
+     */
+    public boolean shouldRefreshEarly(CacheData cacheData) {
+        double beta = earlyRefreshBeta(cacheData.getDataType());
+        LocalDateTime expiresAt = cacheData.getExpiresAt();
+        if (beta <= 0 || expiresAt == null) {
+            return false;
+        }
+        long remainingMillis = Duration.between(LocalDateTime.now(), expiresAt).toMillis();
+        double deltaMillis = recomputeMillis.getOrDefault(cacheData.getDataType(), (double) recomputeEstimate.toMillis());
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -deltaMillis * beta * Math.log(random) >= remainingMillis;
+    }
+    
+    /**
+     * Record how long an early refresh took, so later decisions use the real reload time
+     */
+    public void recordRefresh(String dataType, long nanos) {
+        earlyRefreshCounter.increment();
+        double millis = nanos / 1_000_000.0;
+        recomputeMillis.merge(dataType, millis,
+            (average, sample) -> average + RECOMPUTE_SMOOTHING * (sample - average));
+    }
+    
+    private double jitterRatio(String dataType) {
+        DataTypePolicy policy = dataType != null ? dataTypes.get(dataType) : null;
+        return policy != null && policy.getJitterRatio() != null ? policy.getJitterRatio() : jitterRatio;
+    }
+    
+    private double earlyRefreshBeta(String dataType) {
+        DataTypePolicy policy = dataType != null ? dataTypes.get(dataType) : null;
+        return policy != null && policy.getEarlyRefreshBeta() != null ? policy.getEarlyRefreshBeta() : earlyRefreshBeta;
+    }
+    
+    public double getJitterRatio() {
+        return jitterRatio;
+    }
+    
+    public void setJitterRatio(double jitterRatio) {
+        this.jitterRatio = jitterRatio;
+    }
+    
+    public double getEarlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+    
+    public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+    
+    public Duration getRecomputeEstimate() {
+        return recomputeEstimate;
+    }
+    
+    public void setRecomputeEstimate(Duration recomputeEstimate) {
+        this.recomputeEstimate = recomputeEstimate;
+    }
+    
+    public Map<String, DataTypePolicy> getDataTypes() {
+        return dataTypes;
+    }
+    
+    public void setDataTypes(Map<String, DataTypePolicy> dataTypes) {
+        this.dataTypes = dataTypes;
+    }
+    
+    /**
+     * Per data type overrides; unset values fall back to the global ones
+     */
+    public static class DataTypePolicy {
+        
+        private Double jitterRatio;
+        private Double earlyRefreshBeta;
+        
+        public Double getJitterRatio() {
+            return jitterRatio;
+        }
+        
+        public void setJitterRatio(Double jitterRatio) {
+            this.jitterRatio = jitterRatio;
+        }
+        
+        public Double getEarlyRefreshBeta() {
+            return earlyRefreshBeta;
+        }
+        
+        public void setEarlyRefreshBeta(Double earlyRefreshBeta) {
+            this.earlyRefreshBeta = earlyRefreshBeta;
+        }
+    }
+}
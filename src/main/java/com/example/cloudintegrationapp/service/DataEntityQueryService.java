@@ -0,0 +1,158 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.repository.DataEntityJdbcRepository;
+import com.example.cloudintegrationapp.repository.DataEntityRepository;
+import com.example.cloudintegrationapp.repository.DataEntitySummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Read-side queries over the data_entities table. List views return summaries
+ * rather than full entities and are paged by (created_at, id) keyset.
+ */
+@Service
+public class DataEntityQueryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataEntityQueryService.class);
+    
+    // Position before every row, used for the first page
+    private static final LocalDateTime START_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final long START_ID = 0L;
+    
+    private static final int FLUSH_EVERY = 500;
+    
+    @Autowired
+    private DataEntityRepository dataEntityRepository;
+    
+    @Autowired
+    private DataEntityJdbcRepository dataEntityJdbcRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Page of entity summaries, oldest first, optionally filtered by category and status.
+     * The cursor returned in the response metadata (nextCursor) continues after the last
+     * row of this page.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<List<DataEntitySummary>> getSummaryPage(String category, String status, String cursor, int limit) {
+        LocalDateTime afterCreatedAt = START_CREATED_AT;
+        long afterId = START_ID;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                afterCreatedAt = LocalDateTime.parse(decoded.substring(0, separator));
+                afterId = Long.parseLong(decoded.substring(separator + 1));
+            } catch (RuntimeException e) {
+                return ApiResponse.error("Invalid cursor: " + cursor);
+            }
+        }
+        
+        try {
+            // Fetch one extra row to find out whether another page follows
+            PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+            List<DataEntitySummary> rows;
+            if (category != null && status != null) {
+                rows = dataEntityRepository.findSummariesByCategoryAndStatusAfter(category, status, afterCreatedAt, afterId, pageRequest);
+            } else if (category != null) {
+                rows = dataEntityRepository.findSummariesByCategoryAfter(category, afterCreatedAt, afterId, pageRequest);
+            } else if (status != null) {
+                rows = dataEntityRepository.findSummariesByStatusAfter(status, afterCreatedAt, afterId, pageRequest);
+            } else {
+                rows = dataEntityRepository.findSummariesAfter(afterCreatedAt, afterId, pageRequest);
+            }
+            
+            boolean hasMore = rows.size() > limit;
+            List<DataEntitySummary> page = hasMore ? rows.subList(0, limit) : rows;
+            
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("limit", limit);
+            if (hasMore) {
+                DataEntitySummary last = page.get(page.size() - 1);
+                String next = last.getCreatedAt() + "|" + last.getId();
+                metadata.put("nextCursor", Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+            }
+            
+            ApiResponse<List<DataEntitySummary>> response = ApiResponse.success("Data entities retrieved successfully", page);
+            response.setMetadata(metadata);
+            logger.debug("Retrieved page of {} data entity summaries, more: {}", page.size(), hasMore);
+            return response;
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving page of data entity summaries", e);
+            return ApiResponse.error("Error retrieving data entities: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Write entity summaries, optionally limited to a category, to the stream as
+     * newline-delimited JSON while the rows are read from the database cursor.
+     * Returns the number written.
+     */
+    @Transactional(readOnly = true)
+    public long streamSummaries(String category, OutputStream outputStream) throws IOException {
+        long written = 0;
+        try (Stream<DataEntitySummary> rows = category != null
+                ? dataEntityRepository.streamSummariesByCategory(category)
+                : dataEntityRepository.streamSummaries()) {
+            
+            for (DataEntitySummary summary : (Iterable<DataEntitySummary>) rows::iterator) {
+                outputStream.write(objectMapper.writeValueAsBytes(summary));
+                outputStream.write('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    outputStream.flush();
+                }
+            }
+            outputStream.flush();
+        }
+        
+        logger.info("Streamed {} data entity summaries for category: {}", written, category);
+        return written;
+    }
+    
+    /**
+     * Substring search on entity name, newest first. On PostgreSQL the query is
+     * answered from the pg_trgm index; other databases fall back to a LIKE scan. The name
+     * is matched literally, wildcard characters included.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<List<DataEntitySummary>> searchByName(String name, int limit) {
+        try {
+            String pattern = escapeLike(name);
+            List<DataEntitySummary> results = dataEntityJdbcRepository.isPostgres()
+                ? dataEntityRepository.searchSummariesByNameTrigram(pattern, limit)
+                : dataEntityRepository.searchSummariesByName(pattern, PageRequest.ofSize(limit));
+            
+            logger.debug("Found {} data entities matching name: {}", results.size(), name);
+            return ApiResponse.success("Data entities retrieved successfully", results);
+            
+        } catch (Exception e) {
+            logger.error("Error searching data entities by name: {}", name, e);
+            return ApiResponse.error("Error searching data entities: " + e.getMessage());
+        }
+    }
+    
+    // Backslashes first, so the ones added before % and _ are not doubled
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
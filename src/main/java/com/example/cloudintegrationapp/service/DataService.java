@@ -1,16 +1,31 @@
 package com.example.cloudintegrationapp.service;
 
 import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.model.AsyncJob;
 import com.example.cloudintegrationapp.model.CacheData;
 import com.example.cloudintegrationapp.model.DataEntity;
+import com.example.cloudintegrationapp.repository.DataEntityRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,12 +33,61 @@ public class DataService {
     
     private static final Logger logger = LoggerFactory.getLogger(DataService.class);
     
+    // Maximum distance between the timestamp in a reference ID and the entity's createdAt
+    private static final Duration REFERENCE_ID_CREATED_WINDOW = Duration.ofDays(1);
+    
+    private static final int STREAM_BATCH_SIZE = 200;
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
     @Autowired
     private RedisCacheService redisCacheService;
     
     @Autowired
     private ReferenceIdGenerator referenceIdGenerator;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private AsyncJobService asyncJobService;
+    
+    @Autowired
+    private HotPathLogger hotPathLogger;
+    
+    @Autowired(required = false)
+    private WriteBehindService writeBehindService;
+    
+    @Autowired
+    private DataEntityRepository dataEntityRepository;
+    
+    @Autowired
+    @Qualifier("dataJobExecutor")
+    private ExecutorService dataJobExecutor;
+    
+    @Value("${app.read-through.enabled:true}")
+    private boolean readThroughEnabled;
+    
+    @Value("${app.read-through.ttl-seconds:3600}")
+    private long readThroughTtlSeconds;
+    
+    @Autowired
+    private CacheTtlPolicy cacheTtlPolicy;
+    
+    // Concurrent cache misses for the same reference ID share one database load
+    private final SingleFlight<String, Optional<DataEntity>> databaseLoads;
+    
+    // Concurrent reads of the same custom data entry share one Redis round trip
+    private final SingleFlight<String, Optional<CacheData>> customDataReads;
+    
+    // Reference IDs with an early refresh queued or running
+    private final Set<String> earlyRefreshes = ConcurrentHashMap.newKeySet();
+    
+    public DataService(MeterRegistry meterRegistry) {
+        this.databaseLoads = new SingleFlight<>("data_entity.database_load", meterRegistry);
+        this.customDataReads = new SingleFlight<>("custom_data.read", meterRegistry);
+    }
+    
     /**
      * Create and store data entity with generated reference ID
      */
@@ -34,16 +98,20 @@ public class DataService {
             DataEntity entity = new DataEntity(referenceId, name, description);
             entity.setCategory(category);
             entity.setStatus("ACTIVE");
+            entity.setCreatedAt(LocalDateTime.now().withNano(0));
             
             // Create cache data
             CacheData cacheData = new CacheData(referenceId, "DATA_ENTITY", entity);
             cacheData.setMetadata("Created via DataService");
             
-            // Store in Redis cache
-            boolean stored = redisCacheService.storeData(referenceId, cacheData);
+            // Store in Redis cache together with its category/status/creation indexes
+            boolean stored = redisCacheService.storeIndexedData(referenceId, cacheData, entity.getCreatedAt());
             
             if (stored) {
-                logger.info("Created data entity with reference ID: {}", referenceId);
+                if (writeBehindService != null) {
+                    writeBehindService.enqueueUpsert(entity);
+                }
+                hotPathLogger.info(logger, "data_entity.create", "Created data entity with reference ID: {}", referenceId);
                 return ApiResponse.success("Data entity created successfully", entity, referenceId);
             } else {
                 logger.error("Failed to store data entity in cache for reference ID: {}", referenceId);
@@ -61,23 +129,34 @@ public class DataService {
      */
     public ApiResponse<DataEntity> getDataEntity(String referenceId) {
         try {
-            Optional<CacheData> cacheDataOpt = redisCacheService.getData(referenceId);
+            // The version becomes the ETag and the early refresh's expected version
+            Optional<CacheData> cacheDataOpt = redisCacheService.getDataFromPrimary(referenceId);
             
             if (cacheDataOpt.isPresent()) {
                 CacheData cacheData = cacheDataOpt.get();
-                if (cacheData.getContent() instanceof DataEntity) {
-                    DataEntity entity = (DataEntity) cacheData.getContent();
-                    logger.info("Retrieved data entity with reference ID: {}", referenceId);
-                    return ApiResponse.success("Data entity retrieved successfully", entity, referenceId);
+                DataEntity entity = toDataEntity(cacheData.getContent());
+                if (entity != null) {
+                    refreshEarlyIfDue(referenceId, cacheData, entity);
+                    hotPathLogger.info(logger, "data_entity.get", "Retrieved data entity with reference ID: {}", referenceId);
+                    return withVersion(ApiResponse.success("Data entity retrieved successfully", entity, referenceId),
+                        cacheData.getVersion());
                 } else {
                     logger.warn("Content is not a DataEntity for reference ID: {}", referenceId);
                     return ApiResponse.error("Invalid data type for reference ID: " + referenceId);
                 }
-            } else {
-                logger.warn("No data found for reference ID: {}", referenceId);
-                return ApiResponse.error("Data entity not found for reference ID: " + referenceId);
             }
             
+            Optional<CacheData> loaded = loadThrough(referenceId);
+            if (loaded.isPresent()) {
+                hotPathLogger.info(logger, "data_entity.load", "Loaded data entity from database for reference ID: {}", referenceId);
+                // The version the repopulated entry is stored with, so the ETag holds for a following update
+                return withVersion(ApiResponse.success("Data entity retrieved successfully",
+                    (DataEntity) loaded.get().getContent(), referenceId), loaded.get().getVersion());
+            }
+            
+            logger.warn("No data found for reference ID: {}", referenceId);
+            return ApiResponse.error("Data entity not found for reference ID: " + referenceId);
+            
         } catch (Exception e) {
             logger.error("Error retrieving data entity for reference ID: {}", referenceId, e);
             return ApiResponse.error("Error retrieving data entity: " + e.getMessage());
@@ -88,48 +167,67 @@ public class DataService {
      * Update data entity
      */
     public ApiResponse<DataEntity> updateDataEntity(String referenceId, String name, String description, String category, String status) {
+        return updateDataEntity(referenceId, name, description, category, status, null);
+    }
+    
+    /**
+     * Update data entity fields atomically in Redis. When expectedVersion is given the
+     * update is only applied if the cached entity is still at that version.
+     */
+    public ApiResponse<DataEntity> updateDataEntity(String referenceId, String name, String description, String category,
+                                                    String status, Long expectedVersion) {
+        return updateDataEntity(referenceId, name, description, category, status, expectedVersion, readThroughEnabled);
+    }
+    
+    private ApiResponse<DataEntity> updateDataEntity(String referenceId, String name, String description, String category,
+                                                     String status, Long expectedVersion, boolean restoreOnMiss) {
         try {
-            Optional<CacheData> cacheDataOpt = redisCacheService.getData(referenceId);
+            Map<String, Object> fields = new LinkedHashMap<>();
             
-            if (cacheDataOpt.isPresent()) {
-                CacheData cacheData = cacheDataOpt.get();
-                if (cacheData.getContent() instanceof DataEntity) {
-                    DataEntity entity = (DataEntity) cacheData.getContent();
-                    
-                    // Update fields
-                    if (name != null && !name.trim().isEmpty()) {
-                        entity.setName(name);
-                    }
-                    if (description != null && !description.trim().isEmpty()) {
-                        entity.setDescription(description);
-                    }
-                    if (category != null && !category.trim().isEmpty()) {
-                        entity.setCategory(category);
-                    }
-                    if (status != null && !status.trim().isEmpty()) {
-                        entity.setStatus(status);
+            // Update fields
+            if (name != null && !name.trim().isEmpty()) {
+                fields.put("name", name);
+            }
+            if (description != null && !description.trim().isEmpty()) {
+                fields.put("description", description);
+            }
+            if (category != null && !category.trim().isEmpty()) {
+                fields.put("category", category);
+            }
+            if (status != null && !status.trim().isEmpty()) {
+                fields.put("status", status);
+            }
+            
+            fields.put("updatedAt", LocalDateTime.now().format(TIMESTAMP_FORMAT));
+            
+            RedisCacheService.PartialUpdateResult result = redisCacheService.updateContentFields(
+                referenceId, fields, expectedVersion, "Updated via DataService");
+            
+            switch (result.getStatus()) {
+                case UPDATED:
+                    DataEntity entity = toDataEntity(result.getCacheData().getContent());
+                    if (writeBehindService != null && entity != null) {
+                        writeBehindService.enqueueUpsert(entity);
                     }
-                    
-                    entity.setUpdatedAt(LocalDateTime.now());
-                    
-                    // Update cache
-                    cacheData.setContent(entity);
-                    cacheData.setMetadata("Updated via DataService");
-                    
-                    boolean updated = redisCacheService.storeData(referenceId, cacheData);
-                    
-                    if (updated) {
-                        logger.info("Updated data entity with reference ID: {}", referenceId);
-                        return ApiResponse.success("Data entity updated successfully", entity, referenceId);
-                    } else {
-                        logger.error("Failed to update data entity in cache for reference ID: {}", referenceId);
-                        return ApiResponse.error("Failed to update data entity");
+                    hotPathLogger.info(logger, "data_entity.update", "Updated data entity with reference ID: {}", referenceId);
+                    return withVersion(ApiResponse.success("Data entity updated successfully", entity, referenceId),
+                        result.getCurrentVersion());
+                case VERSION_CONFLICT:
+                    ApiResponse<DataEntity> conflict = withVersion(ApiResponse.error(
+                        "Data entity was modified concurrently for reference ID: " + referenceId), result.getCurrentVersion());
+                    conflict.setStatusCode(412);
+                    return conflict;
+                case NOT_FOUND:
+                    // The entry may have been evicted; restore it from the database and apply the update once more
+                    if (restoreOnMiss && restoreFromDatabase(referenceId)) {
+                        return updateDataEntity(referenceId, name, description, category, status, expectedVersion, false);
                     }
-                } else {
+                    return ApiResponse.error("Data entity not found for reference ID: " + referenceId);
+                case INVALID_CONTENT:
                     return ApiResponse.error("Invalid data type for reference ID: " + referenceId);
-                }
-            } else {
-                return ApiResponse.error("Data entity not found for reference ID: " + referenceId);
+                default:
+                    logger.error("Failed to update data entity in cache for reference ID: {}", referenceId);
+                    return ApiResponse.error("Failed to update data entity");
             }
             
         } catch (Exception e) {
@@ -143,13 +241,23 @@ public class DataService {
      */
     public ApiResponse<String> deleteDataEntity(String referenceId) {
         try {
-            boolean deleted = redisCacheService.deleteData(referenceId);
+            boolean deleted = redisCacheService.deleteIndexedData(referenceId);
+            
+            if (writeBehindService != null) {
+                // An entity evicted from the cache can still be in the database
+                if (!deleted) {
+                    deleted = loadFromStore(referenceId).isPresent();
+                }
+                if (deleted) {
+                    writeBehindService.enqueueDelete(referenceId);
+                }
+            }
             
             if (deleted) {
-                logger.info("Deleted data entity with reference ID: {}", referenceId);
+                hotPathLogger.info(logger, "data_entity.delete", "Deleted data entity with reference ID: {}", referenceId);
                 return ApiResponse.success("Data entity deleted successfully", referenceId, referenceId);
             } else {
-                logger.warn("Failed to delete data entity for reference ID: {}", referenceId);
+                logger.warn("Data entity not found for deletion, reference ID: {}", referenceId);
                 return ApiResponse.error("Failed to delete data entity or entity not found");
             }
             
@@ -172,7 +280,7 @@ public class DataService {
             boolean stored = redisCacheService.storeData(referenceId, cacheData);
             
             if (stored) {
-                logger.info("Stored custom data with reference ID: {}", referenceId);
+                hotPathLogger.info(logger, "custom_data.store", "Stored custom data with reference ID: {}", referenceId);
                 return ApiResponse.success("Custom data stored successfully", referenceId, referenceId);
             } else {
                 logger.error("Failed to store custom data for reference ID: {}", referenceId);
@@ -190,11 +298,11 @@ public class DataService {
      */
     public ApiResponse<Object> getCustomData(String referenceId) {
         try {
-            Optional<CacheData> cacheDataOpt = redisCacheService.getData(referenceId);
+            Optional<CacheData> cacheDataOpt = customDataReads.execute(referenceId, () -> redisCacheService.getData(referenceId));
             
             if (cacheDataOpt.isPresent()) {
                 CacheData cacheData = cacheDataOpt.get();
-                logger.info("Retrieved custom data with reference ID: {}", referenceId);
+                hotPathLogger.info(logger, "custom_data.get", "Retrieved custom data with reference ID: {}", referenceId);
                 return ApiResponse.success("Custom data retrieved successfully", cacheData.getContent(), referenceId);
             } else {
                 logger.warn("No custom data found for reference ID: {}", referenceId);
@@ -208,16 +316,16 @@ public class DataService {
     }
     
     /**
-     * Get all data entities by pattern
+     * Get all data entities by reference ID pattern, see RedisCacheService.dataKeyPattern
      */
     public ApiResponse<List<DataEntity>> getAllDataEntities(String pattern) {
         try {
-            String searchPattern = pattern != null ? pattern : "cloud-integration:data:*";
-            Map<String, CacheData> allData = redisCacheService.getAllDataByPattern(searchPattern);
+            String searchPattern = RedisCacheService.dataKeyPattern(pattern);
+            Map<String, CacheData> allData = redisCacheService.getAllDataByPattern(searchPattern, "DATA_ENTITY");
             
             List<DataEntity> entities = allData.values().stream()
-                .filter(cacheData -> cacheData.getContent() instanceof DataEntity)
-                .map(cacheData -> (DataEntity) cacheData.getContent())
+                .map(cacheData -> toDataEntity(cacheData.getContent()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
             
             logger.info("Retrieved {} data entities for pattern: {}", entities.size(), pattern);
@@ -229,12 +337,159 @@ public class DataService {
         }
     }
     
+    /**
+     * List data entities a page at a time, newest first. The cursor returned in the
+     * response metadata (nextCursor) continues after the last entry of this page.
+     */
+    public ApiResponse<List<DataEntity>> getDataEntitiesPage(String cursor, int limit) {
+        try {
+            String afterReferenceId = null;
+            double afterScore = Double.POSITIVE_INFINITY;
+            if (cursor != null && !cursor.isEmpty()) {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                if (separator < 0) {
+                    return ApiResponse.error("Invalid cursor: " + cursor);
+                }
+                afterScore = Double.parseDouble(decoded.substring(0, separator));
+                afterReferenceId = decoded.substring(separator + 1);
+            }
+            
+            // Fetch one extra index entry to find out whether another page follows
+            LinkedHashMap<String, Double> page = redisCacheService.getCreatedIndexPage(afterReferenceId, afterScore, limit + 1);
+            boolean hasMore = page.size() > limit;
+            List<String> referenceIds = page.keySet().stream().limit(limit).collect(Collectors.toList());
+            
+            Map<String, CacheData> found = redisCacheService.getDataBulk(referenceIds);
+            List<String> stale = referenceIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList());
+            redisCacheService.pruneIndexEntries(stale, null, null);
+            
+            List<DataEntity> entities = found.values().stream()
+                .map(cacheData -> toDataEntity(cacheData.getContent()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("limit", limit);
+            if (hasMore) {
+                String last = referenceIds.get(referenceIds.size() - 1);
+                String next = (long) page.get(last).doubleValue() + ":" + last;
+                metadata.put("nextCursor", Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+            }
+            
+            ApiResponse<List<DataEntity>> response = ApiResponse.success("Data entities retrieved successfully", entities);
+            response.setMetadata(metadata);
+            logger.debug("Retrieved page of {} data entities, more: {}", entities.size(), hasMore);
+            return response;
+            
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error("Invalid cursor: " + cursor);
+        } catch (Exception e) {
+            logger.error("Error retrieving page of data entities", e);
+            return ApiResponse.error("Error retrieving data entities: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Write every data entity matching the pattern to the stream as newline-delimited
+     * JSON, batch by batch as they are read from Redis. Returns the number written.
+     */
+    public long streamDataEntities(String pattern, OutputStream outputStream) throws IOException {
+        String searchPattern = RedisCacheService.dataKeyPattern(pattern);
+        long[] written = {0};
+        
+        try {
+            redisCacheService.scanData(searchPattern, STREAM_BATCH_SIZE, "DATA_ENTITY", batch -> {
+                try {
+                    for (CacheData cacheData : batch.values()) {
+                        DataEntity entity = toDataEntity(cacheData.getContent());
+                        if (entity != null) {
+                            outputStream.write(objectMapper.writeValueAsBytes(entity));
+                            outputStream.write('\n');
+                            written[0]++;
+                        }
+                    }
+                    outputStream.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        logger.info("Streamed {} data entities for pattern: {}", written[0], searchPattern);
+        return written[0];
+    }
+    
+    /**
+     * Find data entities through the category, status and creation time indexes.
+     * Results are ordered newest first.
+     */
+    public ApiResponse<List<DataEntity>> findDataEntities(String category, String status,
+                                                         LocalDateTime createdFrom, LocalDateTime createdTo, int limit) {
+        try {
+            double from = createdFrom != null ? toEpochMillis(createdFrom) : Double.NEGATIVE_INFINITY;
+            double to = createdTo != null ? toEpochMillis(createdTo) : Double.POSITIVE_INFINITY;
+            
+            List<String> referenceIds;
+            if (category == null && status == null) {
+                referenceIds = redisCacheService.findReferenceIdsByCreatedRange(from, to, limit);
+            } else {
+                List<String> candidates = new ArrayList<>(redisCacheService.findIndexedReferenceIds(category, status));
+                List<Double> scores = redisCacheService.getCreatedIndexScores(candidates);
+                
+                Map<String, Double> matching = new HashMap<>();
+                for (int i = 0; i < candidates.size() && i < scores.size(); i++) {
+                    Double score = scores.get(i);
+                    if (score != null && score >= from && score <= to) {
+                        matching.put(candidates.get(i), score);
+                    }
+                }
+                referenceIds = matching.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            }
+            
+            Map<String, CacheData> found = redisCacheService.getDataBulk(referenceIds);
+            
+            // Entries that expired through their TTL are still in the index sets
+            List<String> stale = referenceIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList());
+            redisCacheService.pruneIndexEntries(stale, category, status);
+            
+            List<DataEntity> entities = found.values().stream()
+                .map(cacheData -> toDataEntity(cacheData.getContent()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            
+            logger.info("Found {} data entities for category: {}, status: {}", entities.size(), category, status);
+            return ApiResponse.success("Data entities retrieved successfully", entities);
+            
+        } catch (Exception e) {
+            logger.error("Error querying data entities for category: {}, status: {}", category, status, e);
+            return ApiResponse.error("Error querying data entities: " + e.getMessage());
+        }
+    }
+    
     /**
      * Get cache statistics
      */
     public ApiResponse<Map<String, Object>> getCacheStatistics() {
         try {
             Map<String, Object> stats = redisCacheService.getCacheStats();
+            if (writeBehindService != null) {
+                stats.put("write_behind", writeBehindService.getStats());
+            }
+            stats.put("single_flight", Map.of(
+                "custom_data_read", customDataReads.getStats(),
+                "data_entity_database_load", databaseLoads.getStats()));
             logger.info("Retrieved cache statistics");
             return ApiResponse.success("Cache statistics retrieved successfully", stats);
             
@@ -295,31 +550,195 @@ public class DataService {
     }
     
     /**
-     * Async data processing
+     * Async data processing. The work runs as a tracked job on the data job executor;
+     * the returned job can be polled or cancelled through AsyncJobService.
      */
-    public CompletableFuture<ApiResponse<String>> processDataAsync(String referenceId, String operation) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Simulate async processing
-                Thread.sleep(1000);
-                
-                Optional<CacheData> cacheDataOpt = redisCacheService.getData(referenceId);
-                if (cacheDataOpt.isPresent()) {
-                    // Process the data based on operation
-                    CacheData cacheData = cacheDataOpt.get();
-                    cacheData.setMetadata("Processed with operation: " + operation);
-                    redisCacheService.storeData(referenceId, cacheData);
-                    
-                    logger.info("Async processing completed for reference ID: {} with operation: {}", referenceId, operation);
-                    return ApiResponse.success("Async processing completed", referenceId, referenceId);
-                } else {
-                    return ApiResponse.error("Data not found for reference ID: " + referenceId);
-                }
-                
-            } catch (Exception e) {
-                logger.error("Error in async processing for reference ID: {}", referenceId, e);
-                return ApiResponse.error("Error in async processing: " + e.getMessage());
+    public ApiResponse<AsyncJob> processDataAsync(String referenceId, String operation) {
+        Optional<AsyncJob> job = asyncJobService.submit(referenceId, operation,
+            () -> processData(referenceId, operation));
+        
+        if (job.isPresent()) {
+            return ApiResponse.success("Async processing started for reference ID: " + referenceId, job.get(), referenceId);
+        }
+        
+        ApiResponse<AsyncJob> rejected = ApiResponse.error("Too many async operations in progress, try again later");
+        rejected.setStatusCode(429);
+        return rejected;
+    }
+    
+    private ApiResponse<String> processData(String referenceId, String operation) {
+        String metadata = "Processed with operation: " + operation;
+        
+        // Only the header changes: the content is written back byte for byte whatever its
+        // type, and the version check keeps concurrent entity updates from being overwritten
+        RedisCacheService.PartialUpdateResult result = redisCacheService.updateContentFields(
+            referenceId, Collections.emptyMap(), null, metadata);
+        
+        switch (result.getStatus()) {
+            case UPDATED:
+                break;
+            case NOT_FOUND:
+                return ApiResponse.error("Data not found for reference ID: " + referenceId);
+            default:
+                return ApiResponse.error("Failed to process data for reference ID: " + referenceId);
+        }
+        
+        logger.info("Async processing completed for reference ID: {} with operation: {}", referenceId, operation);
+        return ApiResponse.success("Async processing completed", referenceId, referenceId);
+    }
+    
+    /**
+     * Read-through for cache misses: serve the entity from the write-behind queue or the
+     * database and repopulate Redis in the background. Concurrent misses for the same
+     * reference ID share a single database query.
+     */
+    private Optional<CacheData> loadThrough(String referenceId) {
+        if (!readThroughEnabled) {
+            return Optional.empty();
+        }
+        
+        Optional<CacheData> cacheData = loadFromStore(referenceId).map(this::toLoadedCacheData);
+        cacheData.ifPresent(this::repopulateAsync);
+        return cacheData;
+    }
+    
+    /**
+     * Synchronously put an evicted entity back into the cache. Returns false if it does not exist.
+     */
+    private boolean restoreFromDatabase(String referenceId) {
+        Optional<DataEntity> entity = loadFromStore(referenceId);
+        if (entity.isEmpty()) {
+            return false;
+        }
+        repopulate(toLoadedCacheData(entity.get()));
+        return true;
+    }
+    
+    private Optional<DataEntity> loadFromStore(String referenceId) {
+        // Mutations not yet flushed to the database are newer than the stored row
+        if (writeBehindService != null) {
+            Optional<Optional<DataEntity>> pending = writeBehindService.getPending(referenceId);
+            if (pending.isPresent()) {
+                return pending.get();
             }
-        });
+        }
+        return databaseLoads.execute(referenceId, () -> findInDatabase(referenceId));
+    }
+    
+    /**
+     * Generated reference IDs embed their creation second, so the lookup can be bounded
+     * to a window around it and touch only the matching created_at partitions
+     */
+    private Optional<DataEntity> findInDatabase(String referenceId) {
+        LocalDateTime generatedAt = referenceIdGenerator.extractTimestamp(referenceId);
+        if (generatedAt == null) {
+            return dataEntityRepository.findByReferenceId(referenceId);
+        }
+        return dataEntityRepository.findByReferenceIdAndCreatedAtBetween(referenceId,
+            generatedAt.minus(REFERENCE_ID_CREATED_WINDOW), generatedAt.plus(REFERENCE_ID_CREATED_WINDOW));
+    }
+    
+    private CacheData toLoadedCacheData(DataEntity entity) {
+        CacheData cacheData = new CacheData(entity.getReferenceId(), "DATA_ENTITY", entity, readThroughTtlSeconds);
+        cacheData.setMetadata("Loaded from database");
+        return cacheData;
+    }
+    
+    private void repopulateAsync(CacheData cacheData) {
+        try {
+            dataJobExecutor.execute(() -> repopulate(cacheData));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Skipping cache repopulation for reference ID: {}", cacheData.getReferenceId());
+        }
+    }
+    
+    private void repopulate(CacheData cacheData) {
+        DataEntity entity = (DataEntity) cacheData.getContent();
+        LocalDateTime indexedAt = entity.getCreatedAt() != null ? entity.getCreatedAt() : LocalDateTime.now();
+        
+        // NX: a write that reached the cache in the meantime is newer than the database row
+        if (redisCacheService.storeIndexedDataIfAbsent(entity.getReferenceId(), cacheData, indexedAt)) {
+            logger.debug("Repopulated cache for reference ID: {}", entity.getReferenceId());
+        }
+    }
+    
+    /**
+     * Reload a cached entity from the write-behind queue or the database before it expires,
+     * when the TTL policy draws an early refresh for this read. Needs write-behind, since
+     * otherwise the database does not follow cache writes.
+     */
+    private void refreshEarlyIfDue(String referenceId, CacheData cacheData, DataEntity cached) {
+        if (!readThroughEnabled || writeBehindService == null || !cacheTtlPolicy.shouldRefreshEarly(cacheData)) {
+            return;
+        }
+        if (!earlyRefreshes.add(referenceId)) {
+            return;
+        }
+        try {
+            dataJobExecutor.execute(() -> {
+                try {
+                    refreshEarly(referenceId, cached, cacheData.getVersion());
+                } catch (Exception e) {
+                    logger.error("Early refresh failed for reference ID: {}", referenceId, e);
+                } finally {
+                    earlyRefreshes.remove(referenceId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            earlyRefreshes.remove(referenceId);
+            logger.debug("Skipping early refresh for reference ID: {}", referenceId);
+        }
+    }
+    
+    private void refreshEarly(String referenceId, DataEntity cached, Long version) {
+        long start = System.nanoTime();
+        Optional<DataEntity> loaded = loadFromStore(referenceId);
+        cacheTtlPolicy.recordRefresh("DATA_ENTITY", System.nanoTime() - start);
+        if (loaded.isEmpty()) {
+            return;
+        }
+        
+        // Never replace the cached entity with an older row
+        DataEntity entity = loaded.get();
+        if (cached.getUpdatedAt() != null
+                && (entity.getUpdatedAt() == null || entity.getUpdatedAt().isBefore(cached.getUpdatedAt()))) {
+            return;
+        }
+        
+        CacheData cacheData = new CacheData(referenceId, "DATA_ENTITY", entity, readThroughTtlSeconds);
+        cacheData.setMetadata("Refreshed from database");
+        // Only replaces the version that was read, which the refreshed entry keeps so callers'
+        // optimistic updates stay valid; an update that got in first wins
+        if (redisCacheService.replaceIndexedData(referenceId, cacheData, version != null ? version : 0, cached)) {
+            logger.debug("Refreshed cache early for reference ID: {}", referenceId);
+        } else {
+            logger.debug("Skipped early refresh of changed entry for reference ID: {}", referenceId);
+        }
+    }
+    
+    /**
+     * Cached content comes back from Redis as a generic map, so convert it to a DataEntity
+     */
+    private DataEntity toDataEntity(Object content) {
+        if (content instanceof DataEntity) {
+            return (DataEntity) content;
+        }
+        if (content instanceof Map) {
+            return objectMapper.convertValue(content, DataEntity.class);
+        }
+        return null;
+    }
+    
+    private double toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private <T> ApiResponse<T> withVersion(ApiResponse<T> response, Long version) {
+        if (version != null) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("version", version);
+            response.setMetadata(metadata);
+        }
+        return response;
     }
 }
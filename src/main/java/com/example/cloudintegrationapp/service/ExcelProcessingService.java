@@ -2,11 +2,14 @@ package com.example.cloudintegrationapp.service;
 
 import com.example.cloudintegrationapp.integration.gcp.GcpService;
 import com.example.cloudintegrationapp.model.CacheData;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
@@ -18,6 +21,8 @@ public class ExcelProcessingService {
     
     private static final Logger logger = LoggerFactory.getLogger(ExcelProcessingService.class);
     
+    private static final String PAYLOAD_SIZE_KEY = "payload.size.bytes";
+    
     @Autowired(required = false)
     private GcpService gcpService;
     
@@ -27,6 +32,14 @@ public class ExcelProcessingService {
     @Autowired
     private ReferenceIdGenerator referenceIdGenerator;
     
+    // Stays NOOP when the service is created outside Spring, as in the benchmarks module
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    
+    // Jittered per entry on write, so sheets of one workbook do not expire in the same second
+    @Value("${app.excel.cache-ttl-seconds:3600}")
+    private long sheetTtlSeconds = 3600;
+    
     public Map<String, Object> parseExcelFromGcp(String filename) {
         logger.info("Starting Excel parsing for file: {}", filename);
         
@@ -57,11 +70,18 @@ public class ExcelProcessingService {
         }
     }
     
-    private Map<String, Object> parseExcelFile(byte[] fileData, String filename) throws IOException {
+    // Package-private for the benchmarks module
+    Map<String, Object> parseExcelFile(byte[] fileData, String filename) throws IOException {
         Map<String, Object> result = new HashMap<>();
         List<Map<String, Object>> sheets = new ArrayList<>();
         
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(fileData);
+        Observation observation = Observation.createNotStarted("excel.parse", observationRegistry)
+            .contextualName("excel parse")
+            .highCardinalityKeyValue("file.name", String.valueOf(filename))
+            .highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(fileData.length))
+            .start();
+        try (Observation.Scope scope = observation.openScope();
+             ByteArrayInputStream bis = new ByteArrayInputStream(fileData);
              Workbook workbook = new XSSFWorkbook(bis)) {
             
             int numberOfSheets = workbook.getNumberOfSheets();
@@ -78,48 +98,61 @@ public class ExcelProcessingService {
             result.put("filename", filename);
             result.put("totalSheets", numberOfSheets);
             result.put("sheets", sheets);
+            observation.highCardinalityKeyValue("excel.sheets", String.valueOf(numberOfSheets));
             
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
         
         return result;
     }
     
-    private Map<String, Object> parseSheet(Sheet sheet, String sheetName) {
-        Map<String, Object> sheetData = new HashMap<>();
-        sheetData.put("name", sheetName);
-        
-        List<String> headers = new ArrayList<>();
-        List<Map<String, Object>> rows = new ArrayList<>();
-        
-        boolean firstRow = true;
-        int rowCount = 0;
-        
-        for (Row row : sheet) {
-            if (firstRow) {
-                // Parse headers
-                for (Cell cell : row) {
-                    headers.add(getCellValue(cell));
-                }
-                firstRow = false;
-            } else {
-                // Parse data rows
-                Map<String, Object> rowData = new LinkedHashMap<>();
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    rowData.put(headers.get(i), getCellValue(cell));
+    Map<String, Object> parseSheet(Sheet sheet, String sheetName) {
+        Observation observation = Observation.createNotStarted("excel.parse.sheet", observationRegistry)
+            .contextualName("excel parse sheet")
+            .highCardinalityKeyValue("sheet.name", String.valueOf(sheetName));
+        return observation.observe(() -> {
+            Map<String, Object> sheetData = new HashMap<>();
+            sheetData.put("name", sheetName);
+            
+            List<String> headers = new ArrayList<>();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            
+            boolean firstRow = true;
+            int rowCount = 0;
+            
+            for (Row row : sheet) {
+                if (firstRow) {
+                    // Parse headers
+                    for (Cell cell : row) {
+                        headers.add(getCellValue(cell));
+                    }
+                    firstRow = false;
+                } else {
+                    // Parse data rows
+                    Map<String, Object> rowData = new LinkedHashMap<>();
+                    for (int i = 0; i < headers.size(); i++) {
+                        Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
+                        rowData.put(headers.get(i), getCellValue(cell));
+                    }
+                    rows.add(rowData);
                 }
-                rows.add(rowData);
+                rowCount++;
             }
-            rowCount++;
-        }
-        
-        sheetData.put("headers", headers);
-        sheetData.put("rows", rows);
-        sheetData.put("rowCount", rowCount - 1); // Exclude header row
-        
-        logger.info("Parsed sheet '{}': {} rows, {} columns", sheetName, rowCount - 1, headers.size());
-        
-        return sheetData;
+            
+            sheetData.put("headers", headers);
+            sheetData.put("rows", rows);
+            sheetData.put("rowCount", rowCount - 1); // Exclude header row
+            
+            observation.highCardinalityKeyValue("excel.rows", String.valueOf(rowCount - 1));
+            observation.highCardinalityKeyValue("excel.columns", String.valueOf(headers.size()));
+            logger.info("Parsed sheet '{}': {} rows, {} columns", sheetName, rowCount - 1, headers.size());
+            
+            return sheetData;
+        });
     }
     
     private String getCellValue(Cell cell) {
@@ -158,29 +191,34 @@ public class ExcelProcessingService {
         
         List<Map<String, String>> cachedSheets = new ArrayList<>();
         
-        for (Map<String, Object> sheet : sheets) {
-            String sheetName = (String) sheet.get("name");
-            String referenceId = referenceIdGenerator.generateReferenceId("EXCEL");
-            
-            // Create CacheData object with sheet data
-            Map<String, Object> sheetContent = new HashMap<>();
-            sheetContent.put("filename", filename);
-            sheetContent.put("sheetName", sheetName);
-            sheetContent.put("headers", sheet.get("headers"));
-            sheetContent.put("rows", sheet.get("rows"));
-            sheetContent.put("rowCount", sheet.get("rowCount"));
-            
-            CacheData cacheData = new CacheData(referenceId, "EXCEL_SHEET", sheetContent, 3600L);
-            redisCacheService.storeData(referenceId, cacheData);
-            
-            Map<String, String> cachedInfo = new HashMap<>();
-            cachedInfo.put("sheetName", sheetName);
-            cachedInfo.put("referenceId", referenceId);
-            cachedInfo.put("rowCount", String.valueOf(sheet.get("rowCount")));
-            cachedSheets.add(cachedInfo);
-            
-            logger.info("Cached sheet '{}' to Redis with reference ID: {}", sheetName, referenceId);
-        }
+        Observation observation = Observation.createNotStarted("excel.cache", observationRegistry)
+            .contextualName("excel cache sheets")
+            .highCardinalityKeyValue("excel.sheets", String.valueOf(sheets.size()));
+        observation.observe(() -> {
+            for (Map<String, Object> sheet : sheets) {
+                String sheetName = (String) sheet.get("name");
+                String referenceId = referenceIdGenerator.generateReferenceId("EXCEL");
+                
+                // Create CacheData object with sheet data
+                Map<String, Object> sheetContent = new HashMap<>();
+                sheetContent.put("filename", filename);
+                sheetContent.put("sheetName", sheetName);
+                sheetContent.put("headers", sheet.get("headers"));
+                sheetContent.put("rows", sheet.get("rows"));
+                sheetContent.put("rowCount", sheet.get("rowCount"));
+                
+                CacheData cacheData = new CacheData(referenceId, "EXCEL_SHEET", sheetContent, sheetTtlSeconds);
+                redisCacheService.storeData(referenceId, cacheData);
+                
+                Map<String, String> cachedInfo = new HashMap<>();
+                cachedInfo.put("sheetName", sheetName);
+                cachedInfo.put("referenceId", referenceId);
+                cachedInfo.put("rowCount", String.valueOf(sheet.get("rowCount")));
+                cachedSheets.add(cachedInfo);
+                
+                logger.info("Cached sheet '{}' to Redis with reference ID: {}", sheetName, referenceId);
+            }
+        });
         
         excelData.put("cachedSheets", cachedSheets);
     }
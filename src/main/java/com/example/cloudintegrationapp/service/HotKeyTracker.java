@@ -0,0 +1,244 @@
+package com.example.cloudintegrationapp.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Samples accesses to cache entries to find the hottest and largest ones. Access frequency
+ * is estimated with a count-min sketch, so memory stays fixed however many reference IDs
+ * pass through; only the current top K of each list is kept by name. Counts are halved
+ * every decay interval, so the lists follow recent traffic rather than all time.
+ */
+@Component
+public class HotKeyTracker {
+    
+    public static final String HOTTEST_ACCESSES_GAUGE = "cache.hotkeys.hottest.accesses";
+    public static final String LARGEST_SIZE_GAUGE = "cache.hotkeys.largest.size";
+    public static final String SAMPLED_COUNTER_GAUGE = "cache.hotkeys.sampled";
+    
+    private static final int SKETCH_DEPTH = 4;
+    
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int topK;
+    private final int sketchWidth;
+    private final AtomicLongArray sketch;
+    private final long[] seeds = new long[SKETCH_DEPTH];
+    
+    // Entries already listed are updated in place; the lock is only taken to admit or
+    // evict one, and is not a monitor so that virtual threads are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Long> hottest = new ConcurrentHashMap<>();
+    private final PriorityQueue<SizedKey> largest = new PriorityQueue<>(Comparator.comparingLong(SizedKey::bytes));
+    private final Map<String, SizedKey> largestByKey = new ConcurrentHashMap<>();
+    
+    // Smallest value in each list once it is full, 0 before; accesses at or below it are not listed
+    private volatile long hottestFloor;
+    private volatile long largestFloor;
+    private final LongAdder sampled = new LongAdder();
+    
+    public HotKeyTracker(MeterRegistry meterRegistry,
+                         @Value("${app.redis.hot-keys.enabled:true}") boolean enabled,
+                         @Value("${app.redis.hot-keys.sample-rate:1.0}") double sampleRate,
+                         @Value("${app.redis.hot-keys.top-k:20}") int topK,
+                         @Value("${app.redis.hot-keys.sketch-width:4096}") int sketchWidth) {
+        this.enabled = enabled;
+        this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+        this.topK = Math.max(1, topK);
+        this.sketchWidth = Math.max(64, sketchWidth);
+        this.sketch = new AtomicLongArray(SKETCH_DEPTH * this.sketchWidth);
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            seeds[row] = ThreadLocalRandom.current().nextLong() | 1;
+        }
+        
+        Gauge.builder(HOTTEST_ACCESSES_GAUGE, this, tracker -> tracker.maxValue(true))
+            .description("Estimated recent accesses of the hottest cache entry")
+            .register(meterRegistry);
+        Gauge.builder(LARGEST_SIZE_GAUGE, this, tracker -> tracker.maxValue(false))
+            .description("Serialized size of the largest recently accessed cache entry")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder(SAMPLED_COUNTER_GAUGE, this, tracker -> tracker.sampled.sum())
+            .description("Cache accesses sampled into the hot key sketch since the last decay")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * @param bytes serialized size of the entry read or written
+     */
+    public void recordAccess(String referenceId, long bytes) {
+        if (!enabled || referenceId == null) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        sampled.increment();
+        
+        long estimate = increment(referenceId);
+        boolean hot = estimate > hottestFloor
+            && hottest.computeIfPresent(referenceId, (key, count) -> Math.max(count, estimate)) == null;
+        SizedKey listed = largestByKey.get(referenceId);
+        boolean large = bytes > largestFloor && (listed == null || listed.bytes() != bytes);
+        if (!hot && !large) {
+            return;
+        }
+        
+        lock.lock();
+        try {
+            if (hot) {
+                offerHottest(referenceId, estimate);
+            }
+            if (large) {
+                offerLargest(referenceId, bytes);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Hottest entries with their estimated accesses scaled by the sample rate, and largest
+     * entries with their size, both in descending order
+     */
+    public Map<String, Object> getSnapshot(int limit) {
+        List<Map<String, Object>> hot = new ArrayList<>();
+        List<Map<String, Object>> large = new ArrayList<>();
+        lock.lock();
+        try {
+            hottest.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> hot.add(entry(entry.getKey(), "estimated_accesses", scale(entry.getValue()))));
+            largest.stream()
+                .sorted(Comparator.comparingLong(SizedKey::bytes).reversed())
+                .limit(limit)
+                .forEach(entry -> large.add(entry(entry.referenceId(), "size_bytes", entry.bytes())));
+        } finally {
+            lock.unlock();
+        }
+        
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("sample_rate", sampleRate);
+        snapshot.put("sampled_since_decay", sampled.sum());
+        snapshot.put("hottest", hot);
+        snapshot.put("largest", large);
+        return snapshot;
+    }
+    
+    /**
+     * Halve every count so that keys which cooled down drop out of the hottest list.
+     * The largest list is reset, since entries may have shrunk or been deleted.
+     */
+    @Scheduled(fixedDelayString = "${app.redis.hot-keys.decay-interval-ms:60000}")
+    public void decay() {
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.getAndUpdate(i, count -> count >>> 1);
+        }
+        lock.lock();
+        try {
+            hottest.replaceAll((referenceId, count) -> count >>> 1);
+            hottest.values().removeIf(count -> count == 0);
+            hottestFloor = hottest.size() < topK ? 0 : minHottest();
+            largest.clear();
+            largestByKey.clear();
+            largestFloor = 0;
+            sampled.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private long increment(String referenceId) {
+        long hash = referenceId.hashCode() * 0x9E3779B97F4A7C15L;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int column = (int) ((((hash ^ seeds[row]) * seeds[row]) >>> 33) % sketchWidth);
+            estimate = Math.min(estimate, sketch.incrementAndGet(row * sketchWidth + column));
+        }
+        return estimate;
+    }
+    
+    private void offerHottest(String referenceId, long estimate) {
+        if (hottest.containsKey(referenceId) || hottest.size() < topK) {
+            hottest.put(referenceId, estimate);
+        } else {
+            String coldest = null;
+            long coldestCount = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : hottest.entrySet()) {
+                if (entry.getValue() < coldestCount) {
+                    coldest = entry.getKey();
+                    coldestCount = entry.getValue();
+                }
+            }
+            if (estimate <= coldestCount) {
+                return;
+            }
+            hottest.remove(coldest);
+            hottest.put(referenceId, estimate);
+        }
+        hottestFloor = hottest.size() < topK ? 0 : minHottest();
+    }
+    
+    private void offerLargest(String referenceId, long bytes) {
+        SizedKey existing = largestByKey.remove(referenceId);
+        if (existing != null) {
+            largest.remove(existing);
+        } else if (largest.size() >= topK) {
+            if (bytes <= largest.peek().bytes()) {
+                return;
+            }
+            largestByKey.remove(largest.poll().referenceId());
+        }
+        SizedKey entry = new SizedKey(referenceId, bytes);
+        largest.add(entry);
+        largestByKey.put(referenceId, entry);
+        largestFloor = largest.size() < topK ? 0 : largest.peek().bytes();
+    }
+    
+    private long minHottest() {
+        return hottest.values().stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+    
+    private double maxValue(boolean accesses) {
+        lock.lock();
+        try {
+            return accesses
+                ? scale(hottest.values().stream().mapToLong(Long::longValue).max().orElse(0))
+                : largest.stream().mapToLong(SizedKey::bytes).max().orElse(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private double scale(long count) {
+        return sampleRate > 0 ? count / sampleRate : 0;
+    }
+    
+    private static Map<String, Object> entry(String referenceId, String name, Object value) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("reference_id", referenceId);
+        entry.put("key", RedisCacheService.generateKey(referenceId));
+        entry.put(name, value);
+        return entry;
+    }
+    
+    private record SizedKey(String referenceId, long bytes) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.cloudintegrationapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * INFO logging for code that runs once per request or per entry. Every call is counted in
+ * the app.log.events counter, but per event at most one line is written per sample
+ * interval, carrying the event name and how many calls were suppressed since the last
+ * line as key-value pairs. A sample interval of 0 logs every call.
+ */
+@Component
+public class HotPathLogger {
+
+    public static final String EVENT_COUNTER = "app.log.events";
+
+    private final MeterRegistry meterRegistry;
+    private final long sampleIntervalNanos;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public HotPathLogger(MeterRegistry meterRegistry,
+                         @Value("${app.logging.hot-path.sample-interval:10s}") Duration sampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+    }
+
+    /**
+     * @param event constant name of the log site, e.g. "cache.store"; used as a meter tag,
+     *              so it must not contain request data
+     */
+    public void info(Logger logger, String event, String format, Object... arguments) {
+        counters.computeIfAbsent(event, key -> Counter.builder(EVENT_COUNTER)
+            .description("Hot path events, whether or not they were logged")
+            .tag("event", key)
+            .register(meterRegistry)).increment();
+
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        if (sampleIntervalNanos <= 0) {
+            logger.info(format, arguments);
+            return;
+        }
+
+        long suppressed = windows.computeIfAbsent(event, key -> new Window()).tryAcquire(sampleIntervalNanos);
+        if (suppressed >= 0) {
+            logger.atInfo()
+                .addKeyValue("event", event)
+                .addKeyValue("suppressed", suppressed)
+                .log(format, arguments);
+        }
+    }
+
+    /**
+     * Grants one log line per interval to whichever caller gets there first
+     */
+    private static class Window {
+
+        private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+
+        /**
+         * @return calls suppressed since the previous line when this call may log, -1 otherwise
+         */
+        long tryAcquire(long intervalNanos) {
+            long now = System.nanoTime();
+            long next = nextLogAt.get();
+            if (now - next >= 0 && nextLogAt.compareAndSet(next, now + intervalNanos)) {
+                return suppressed.sumThenReset();
+            }
+            suppressed.increment();
+            return -1;
+        }
+    }
+}
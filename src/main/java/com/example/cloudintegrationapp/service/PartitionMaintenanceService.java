@@ -0,0 +1,99 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.repository.DataEntityJdbcRepository;
+import com.example.cloudintegrationapp.repository.DataEntityPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of data_entities ahead of the clock and, when a
+ * retention is configured, drops partitions whose whole month has aged out.
+ * Does nothing unless the table is partitioned (PostgreSQL after migration V4).
+ */
+@Service
+@ConditionalOnProperty(name = "app.partitioning.enabled", havingValue = "true")
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    @Autowired
+    private DataEntityPartitionRepository partitionRepository;
+
+    @Autowired
+    private DataEntityJdbcRepository dataEntityJdbcRepository;
+
+    // Future months to keep partitions for, so inserts never fall into the default partition
+    @Value("${app.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    // Months of data to keep, counting the current month; 0 keeps everything
+    @Value("${app.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+
+    public PartitionMaintenanceService(MeterRegistry meterRegistry) {
+        this.createdCounter = meterRegistry.counter("data_entities.partitions.created");
+        this.droppedCounter = meterRegistry.counter("data_entities.partitions.dropped");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!dataEntityJdbcRepository.isPostgres() || !partitionRepository.isPartitioned()) {
+            logger.debug("data_entities is not partitioned, skipping partition maintenance");
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        List<YearMonth> existing = partitionRepository.findMonthlyPartitions();
+
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                try {
+                    partitionRepository.createMonthlyPartition(month);
+                    createdCounter.increment();
+                    logger.info("Created partition {}", DataEntityPartitionRepository.partitionName(month));
+                } catch (Exception e) {
+                    // Typically rows for that month already sit in the default partition
+                    logger.error("Error creating partition {}", DataEntityPartitionRepository.partitionName(month), e);
+                }
+            }
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+            for (YearMonth month : existing) {
+                if (!month.isBefore(oldestKept)) {
+                    break;
+                }
+                try {
+                    partitionRepository.dropMonthlyPartition(month);
+                    droppedCounter.increment();
+                    logger.info("Dropped partition {} past {} month retention",
+                        DataEntityPartitionRepository.partitionName(month), retentionMonths);
+                } catch (Exception e) {
+                    logger.error("Error dropping partition {}", DataEntityPartitionRepository.partitionName(month), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.CacheData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking counterpart of RedisCacheService for the plain data entries. Uses the
+ * same keys and value format, so entries written by either service can be read by the
+ * other. Failures are logged and mapped to false/empty like the blocking service.
+ */
+@Service
+public class ReactiveRedisCacheService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRedisCacheService.class);
+    
+    // Concurrent SETs in a bulk store; Lettuce pipelines them on the shared connection
+    private static final int BULK_STORE_CONCURRENCY = 64;
+    
+    @Autowired
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    
+    // Prefers replicas on Redis Cluster and Sentinel, the primary otherwise
+    @Autowired
+    @Qualifier("replicaReadReactiveRedisTemplate")
+    private ReactiveRedisTemplate<String, String> replicaReadTemplate;
+    
+    @Autowired
+    private CacheMetrics cacheMetrics;
+    
+    @Autowired
+    private CacheTtlPolicy cacheTtlPolicy;
+    
+    @Autowired
+    private CacheDataCodec cacheDataCodec;
+    
+    // Store data with reference ID
+    public Mono<Boolean> storeData(String referenceId, CacheData cacheData) {
+        String key = RedisCacheService.generateKey(referenceId);
+        return Mono.defer(() -> {
+            Timer.Sample sample = cacheMetrics.start();
+            cacheTtlPolicy.applyJitter(cacheData);
+            return Mono.fromCallable(() -> serialize(cacheData))
+                .flatMap(jsonData -> cacheData.getTtlSeconds() != null && cacheData.getTtlSeconds() > 0
+                    ? reactiveRedisTemplate.opsForValue().set(key, jsonData, Duration.ofSeconds(cacheData.getTtlSeconds()))
+                    : reactiveRedisTemplate.opsForValue().set(key, jsonData))
+                .doOnNext(stored -> logger.debug("Stored data with reference ID: {}, success: {}", referenceId, stored))
+                .onErrorResume(e -> {
+                    logger.error("Failed to store data with reference ID: {}", referenceId, e);
+                    return Mono.just(false);
+                })
+                .doOnNext(stored -> cacheMetrics.record(sample, "store", cacheData.getDataType(),
+                    stored ? CacheMetrics.OUTCOME_SUCCESS : CacheMetrics.OUTCOME_ERROR));
+        });
+    }
+    
+    // Retrieve data by reference ID; empty when missing or unreadable
+    public Mono<CacheData> getData(String referenceId) {
+        String key = RedisCacheService.generateKey(referenceId);
+        return Mono.defer(() -> {
+            Timer.Sample sample = cacheMetrics.start();
+            AtomicReference<String> outcome = new AtomicReference<>(CacheMetrics.OUTCOME_MISS);
+            AtomicReference<String> dataType = new AtomicReference<>();
+            return replicaReadTemplate.opsForValue().get(key)
+                .flatMap(jsonData -> Mono.fromCallable(() -> deserialize(jsonData)))
+                .doOnNext(cacheData -> {
+                    dataType.set(cacheData.getDataType());
+                    outcome.set(CacheMetrics.OUTCOME_HIT);
+                })
+                .onErrorResume(e -> {
+                    logger.error("Failed to retrieve data with reference ID: {}", referenceId, e);
+                    outcome.set(CacheMetrics.OUTCOME_ERROR);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> cacheMetrics.record(sample, "get", dataType.get(), outcome.get()));
+        });
+    }
+    
+    // Delete data by reference ID
+    public Mono<Boolean> deleteData(String referenceId) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = cacheMetrics.start();
+            return reactiveRedisTemplate.delete(RedisCacheService.generateKey(referenceId))
+                .map(deleted -> deleted > 0)
+                .doOnNext(deleted -> {
+                    logger.debug("Deleted data with reference ID: {}, success: {}", referenceId, deleted);
+                    cacheMetrics.record(sample, "delete", null, deleted ? CacheMetrics.OUTCOME_HIT : CacheMetrics.OUTCOME_MISS);
+                })
+                .onErrorResume(e -> {
+                    logger.error("Failed to delete data with reference ID: {}", referenceId, e);
+                    cacheMetrics.record(sample, "delete", null, CacheMetrics.OUTCOME_ERROR);
+                    return Mono.just(false);
+                });
+        });
+    }
+    
+    /**
+     * Retrieve several entries with one MGET (split per slot on Redis Cluster). Missing or
+     * unreadable entries are omitted; the result preserves the requested order.
+     */
+    public Mono<Map<String, CacheData>> getDataBulk(List<String> referenceIds) {
+        if (referenceIds.isEmpty()) {
+            return Mono.just(new LinkedHashMap<>());
+        }
+        List<String> keys = referenceIds.stream().map(RedisCacheService::generateKey).toList();
+        return Mono.defer(() -> {
+            Timer.Sample sample = cacheMetrics.start();
+            return replicaReadTemplate.opsForValue().multiGet(keys)
+                .map(values -> {
+                    Map<String, CacheData> result = new LinkedHashMap<>();
+                    int misses = 0;
+                    for (int i = 0; i < referenceIds.size(); i++) {
+                        String value = values.get(i);
+                        if (value == null) {
+                            misses++;
+                            continue;
+                        }
+                        try {
+                            result.put(referenceIds.get(i), deserialize(value));
+                        } catch (JsonProcessingException e) {
+                            logger.error("Failed to deserialize data for reference ID: {}", referenceIds.get(i), e);
+                        }
+                    }
+                    cacheMetrics.recordBulkEntries(CacheMetrics.OUTCOME_HIT, result.size());
+                    cacheMetrics.recordBulkEntries(CacheMetrics.OUTCOME_MISS, misses);
+                    cacheMetrics.record(sample, "get_bulk", null, CacheMetrics.OUTCOME_SUCCESS);
+                    logger.debug("Retrieved {} of {} entries in bulk", result.size(), referenceIds.size());
+                    return result;
+                })
+                .onErrorResume(e -> {
+                    logger.error("Failed to retrieve {} entries in bulk", referenceIds.size(), e);
+                    cacheMetrics.record(sample, "get_bulk", null, CacheMetrics.OUTCOME_ERROR);
+                    return Mono.just(new LinkedHashMap<>());
+                });
+        });
+    }
+    
+    /**
+     * Store several entries concurrently, keeping each entry's own TTL
+     *
+     * @return reference IDs that were stored, in completion order
+     */
+    public Mono<List<String>> storeDataBulk(Map<String, CacheData> entries) {
+        return Flux.fromIterable(entries.entrySet())
+            .flatMap(entry -> storeData(entry.getKey(), entry.getValue())
+                .filter(Boolean.TRUE::equals)
+                .map(stored -> entry.getKey()), BULK_STORE_CONCURRENCY)
+            .collectList()
+            .doOnNext(stored -> logger.info("Stored {} of {} entries in bulk", stored.size(), entries.size()));
+    }
+    
+    private String serialize(CacheData cacheData) throws JsonProcessingException {
+        long start = System.nanoTime();
+        String json = cacheDataCodec.encode(cacheData);
+        cacheMetrics.recordPayload("write", cacheData.getDataType(), json.length(), System.nanoTime() - start);
+        return json;
+    }
+    
+    private CacheData deserialize(String json) throws JsonProcessingException {
+        long start = System.nanoTime();
+        CacheData cacheData = cacheDataCodec.decode(json);
+        cacheMetrics.recordPayload("read", cacheData.getDataType(), json.length(), System.nanoTime() - start);
+        return cacheData;
+    }
+    
+    // CompletableFuture variants for callers outside a reactive pipeline
+    
+    public CompletableFuture<Boolean> storeDataAsync(String referenceId, CacheData cacheData) {
+        return storeData(referenceId, cacheData).toFuture();
+    }
+    
+    public CompletableFuture<CacheData> getDataAsync(String referenceId) {
+        return getData(referenceId).toFuture();
+    }
+    
+    public CompletableFuture<Boolean> deleteDataAsync(String referenceId) {
+        return deleteData(referenceId).toFuture();
+    }
+    
+    public CompletableFuture<Map<String, CacheData>> getDataBulkAsync(List<String> referenceIds) {
+        return getDataBulk(referenceIds).toFuture();
+    }
+    
+    public CompletableFuture<List<String>> storeDataBulkAsync(Map<String, CacheData> entries) {
+        return storeDataBulk(entries).toFuture();
+    }
+}
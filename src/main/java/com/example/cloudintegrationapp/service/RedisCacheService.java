@@ -2,18 +2,43 @@ package com.example.cloudintegrationapp.service;
 
 import com.example.cloudintegrationapp.model.CacheData;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 public class RedisCacheService {
@@ -26,8 +51,77 @@ public class RedisCacheService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    // Prefers replicas on Redis Cluster and Sentinel, the primary otherwise
+    @Autowired
+    @Qualifier("replicaReadRedisTemplate")
+    private RedisTemplate<String, String> replicaReadTemplate;
+    
+    @Autowired
+    private CacheMetrics cacheMetrics;
+    
+    @Autowired
+    private HotPathLogger hotPathLogger;
+    
+    @Autowired
+    private ObservationRegistry observationRegistry;
+    
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+    
+    @Autowired
+    private CacheTtlPolicy cacheTtlPolicy;
+    
+    @Autowired
+    private CacheDataCodec cacheDataCodec;
+    
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private String clusterNodes;
+    
+    @Value("${spring.data.redis.sentinel.master:}")
+    private String sentinelMaster;
+    
+    @Value("${app.redis.migrate-legacy-keys:true}")
+    private boolean migrateLegacyKeys;
+    
     private final ValueOperations<String, String> valueOperations;
     
+    private static final int SCAN_BATCH_SIZE = 500;
+    
+    // Reads and writes an unconditional partial update may lose to concurrent writers
+    private static final int UPDATE_ATTEMPTS = 5;
+    
+    // TTL argument of the update script that keeps the entry's current TTL
+    private static final long KEEP_TTL = -1;
+    
+    // Content fields with an index set per value
+    private static final List<String> INDEXED_FIELDS = List.of("category", "status");
+    
+    // Format of CacheData.expiresAt in stored values
+    private static final DateTimeFormatter EXPIRES_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
+    private static final String CACHE_OBSERVATION = "cache.redis";
+    private static final String PAYLOAD_SIZE_KEY = "payload.size.bytes";
+    
+    // Data and metadata keys put the reference ID in a hash tag so that on Redis Cluster
+    // both keys of an entity map to the same slot. All index keys share the {idx} tag so
+    // category/status intersections stay on one node.
+    private static final String KEY_NAMESPACE = "cloud-integration:";
+    private static final String DATA_PREFIX = "cloud-integration:data:";
+    private static final String METADATA_PREFIX = "cloud-integration:metadata:";
+    private static final String INDEX_PREFIX = "cloud-integration:index:{idx}:";
+    private static final String CREATED_INDEX_KEY = INDEX_PREFIX + "created";
+    // Index keys were written without the {idx} tag before Redis Cluster support
+    private static final String LEGACY_INDEX_PREFIX = "cloud-integration:index:";
+    
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UPDATE_DATA_ENTITY_SCRIPT = loadScript("redis/update-data-entity.lua", List.class);
+    private static final RedisScript<Long> STORE_DATA_ENTITY_SCRIPT = loadScript("redis/store-data-entity.lua", Long.class);
+    private static final RedisScript<Long> DELETE_DATA_ENTITY_SCRIPT = loadScript("redis/delete-data-entity.lua", Long.class);
+    private static final RedisScript<Long> STORE_DATA_WITH_METADATA_SCRIPT = loadScript("redis/store-data-with-metadata.lua", Long.class);
+    private static final RedisScript<Long> SET_TTL_SCRIPT = loadScript("redis/set-ttl.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PAGE_CREATED_INDEX_SCRIPT = loadScript("redis/page-created-index.lua", List.class);
+    
     public RedisCacheService(RedisTemplate<String, String> redisTemplate) {
         this.redisTemplate = redisTemplate;
         this.valueOperations = redisTemplate.opsForValue();
@@ -35,58 +129,600 @@ public class RedisCacheService {
     
     // Store data with reference ID
     public boolean storeData(String referenceId, CacheData cacheData) {
-        try {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("store", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            cacheTtlPolicy.applyJitter(cacheData);
             String key = generateKey(referenceId);
-            String jsonData = objectMapper.writeValueAsString(cacheData);
+            String jsonData = serialize(cacheData);
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(jsonData.length()));
+            hotKeyTracker.recordAccess(referenceId, jsonData.length());
             
             if (cacheData.getTtlSeconds() != null && cacheData.getTtlSeconds() > 0) {
                 valueOperations.set(key, jsonData, Duration.ofSeconds(cacheData.getTtlSeconds()));
-                logger.info("Stored data with reference ID: {} and TTL: {} seconds", referenceId, cacheData.getTtlSeconds());
+                hotPathLogger.info(logger, "cache.store", "Stored data with reference ID: {} and TTL: {} seconds", referenceId, cacheData.getTtlSeconds());
             } else {
                 valueOperations.set(key, jsonData);
-                logger.info("Stored data with reference ID: {} (no TTL)", referenceId);
+                hotPathLogger.info(logger, "cache.store", "Stored data with reference ID: {} (no TTL)", referenceId);
             }
             
+            outcome = CacheMetrics.OUTCOME_SUCCESS;
             return true;
         } catch (JsonProcessingException e) {
             logger.error("Failed to serialize data for reference ID: {}", referenceId, e);
             return false;
         } catch (Exception e) {
+            observation.error(e);
             logger.error("Failed to store data with reference ID: {}", referenceId, e);
             return false;
+        } finally {
+            cacheMetrics.record(sample, "store", cacheData.getDataType(), outcome);
+            stopObservation(observation, outcome);
         }
     }
     
-    // Retrieve data by reference ID
+    /**
+     * Retrieve data by reference ID. Reads prefer a replica; an entry the replica lacks is
+     * looked up on the primary before reporting a miss, as it may not have replicated yet.
+     */
     public Optional<CacheData> getData(String referenceId) {
-        try {
+        return getData(referenceId, false);
+    }
+    
+    /**
+     * Like getData, but always reads the primary. For reads whose version becomes an ETag
+     * or the expected version of a later write, which a lagging replica would make stale.
+     */
+    public Optional<CacheData> getDataFromPrimary(String referenceId) {
+        return getData(referenceId, true);
+    }
+    
+    private Optional<CacheData> getData(String referenceId, boolean primaryOnly) {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("get", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        String dataType = null;
+        try (Observation.Scope scope = observation.openScope()) {
             String key = generateKey(referenceId);
-            String jsonData = valueOperations.get(key);
+            String jsonData = primaryOnly ? valueOperations.get(key) : replicaReadTemplate.opsForValue().get(key);
+            if (jsonData == null && !primaryOnly && hasReplicas()) {
+                jsonData = valueOperations.get(key);
+            }
             
             if (jsonData == null) {
                 logger.debug("No data found for reference ID: {}", referenceId);
+                outcome = CacheMetrics.OUTCOME_MISS;
                 return Optional.empty();
             }
             
-            CacheData cacheData = objectMapper.readValue(jsonData, CacheData.class);
-            
-            // Check if data is expired
-            if (cacheData.isExpired()) {
-                logger.info("Data expired for reference ID: {}, removing from cache", referenceId);
-                deleteData(referenceId);
-                return Optional.empty();
-            }
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(jsonData.length()));
+            hotKeyTracker.recordAccess(referenceId, jsonData.length());
+            // Redis drops the key when its TTL runs out, so a value that is found is live
+            CacheData cacheData = deserialize(jsonData);
+            dataType = cacheData.getDataType();
             
             logger.debug("Retrieved data for reference ID: {}", referenceId);
+            outcome = CacheMetrics.OUTCOME_HIT;
             return Optional.of(cacheData);
             
         } catch (JsonProcessingException e) {
             logger.error("Failed to deserialize data for reference ID: {}", referenceId, e);
             return Optional.empty();
         } catch (Exception e) {
+            observation.error(e);
             logger.error("Failed to retrieve data with reference ID: {}", referenceId, e);
             return Optional.empty();
+        } finally {
+            cacheMetrics.record(sample, "get", dataType, outcome);
+            stopObservation(observation, outcome);
+        }
+    }
+    
+    /**
+     * Apply a partial update to the content of a cached entry. The fields are merged into
+     * the content here and written back by a script that only succeeds while the entry is
+     * still at the version that was read, so concurrent updates are never lost, fields that
+     * are not updated keep their exact JSON and the entry TTL is preserved. Without fields
+     * only the header changes: the version is incremented and the metadata replaced.
+     *
+     * @param expectedVersion version the caller last saw, or null to update unconditionally
+     */
+    public PartialUpdateResult updateContentFields(String referenceId, Map<String, Object> fields,
+                                                   Long expectedVersion, String metadata) {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("update", referenceId);
+        PartialUpdateResult result;
+        try (Observation.Scope scope = observation.openScope()) {
+            result = applyContentFields(referenceId, fields, expectedVersion, metadata);
+        }
+        String outcome = result.getStatus().name().toLowerCase();
+        cacheMetrics.record(sample, "update", result.getCacheData() != null ? result.getCacheData().getDataType() : null, outcome);
+        stopObservation(observation, outcome);
+        return result;
+    }
+    
+    private PartialUpdateResult applyContentFields(String referenceId, Map<String, Object> fields,
+                                                   Long expectedVersion, String metadata) {
+        try {
+            String key = generateKey(referenceId);
+            for (int attempt = 0; attempt < UPDATE_ATTEMPTS; attempt++) {
+                String raw = valueOperations.get(key);
+                if (raw == null) {
+                    return PartialUpdateResult.of(PartialUpdateResult.Status.NOT_FOUND);
+                }
+                
+                CacheData header = cacheDataCodec.decodeHeader(raw);
+                long version = header.getVersion() != null ? header.getVersion() : 0;
+                if (expectedVersion != null && expectedVersion != version) {
+                    logger.info("Version conflict for reference ID: {}, expected {} but found {}",
+                        referenceId, expectedVersion, version);
+                    return PartialUpdateResult.conflict(version);
+                }
+                
+                header.setVersion(version + 1);
+                if (metadata != null) {
+                    header.setMetadata(metadata);
+                }
+                String updated = cacheDataCodec.patch(raw, header, fields);
+                if (updated == null) {
+                    return PartialUpdateResult.of(PartialUpdateResult.Status.INVALID_CONTENT);
+                }
+                
+                // Index entries only move when the update sets an indexed field
+                Map<String, String> previous = Collections.emptyMap();
+                Map<String, String> current = Collections.emptyMap();
+                if (INDEXED_FIELDS.stream().anyMatch(fields::containsKey)) {
+                    previous = cacheDataCodec.contentTextFields(raw, INDEXED_FIELDS);
+                    current = new HashMap<>(previous);
+                    for (String field : INDEXED_FIELDS) {
+                        if (fields.containsKey(field)) {
+                            current.remove(field);
+                            if (fields.get(field) instanceof String text && !text.isEmpty()) {
+                                current.put(field, text);
+                            }
+                        }
+                    }
+                }
+                
+                PartialUpdateResult result = replaceEntry(referenceId, key, version, updated, KEEP_TTL,
+                    previous, current, cacheDataCodec.hasHeader(raw) ? "" : raw);
+                // A conflict on an older single-object value carries no version; the next read has it
+                boolean versionKnown = result.getCurrentVersion() != null;
+                if (result.getStatus() != PartialUpdateResult.Status.VERSION_CONFLICT
+                        || (expectedVersion != null && versionKnown)) {
+                    return result;
+                }
+                // Written by someone else since it was read; merge into their version instead
+                logger.debug("Retrying partial update for reference ID: {} after a concurrent write", referenceId);
+            }
+            
+            logger.warn("Gave up partial update for reference ID: {} after {} concurrent writes", referenceId, UPDATE_ATTEMPTS);
+            return PartialUpdateResult.of(PartialUpdateResult.Status.FAILED);
+            
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to (de)serialize partial update for reference ID: {}", referenceId, e);
+            return PartialUpdateResult.of(PartialUpdateResult.Status.FAILED);
+        } catch (Exception e) {
+            logger.error("Failed to apply partial update for reference ID: {}", referenceId, e);
+            return PartialUpdateResult.of(PartialUpdateResult.Status.FAILED);
+        }
+    }
+    
+    /**
+     * Write a prepared value over an entry that is still at the given version, moving its
+     * index entries when category or status changed. The script compares header lines only
+     * and never parses the content.
+     *
+     * @param ttlSeconds new TTL, 0 for no expiry, or KEEP_TTL to keep the current one
+     * @param previous indexed fields of the entry being replaced
+     * @param current indexed fields of the new value
+     * @param singleObjectValue the value being replaced when it has no header line, else empty
+     */
+    @SuppressWarnings("unchecked")
+    private PartialUpdateResult replaceEntry(String referenceId, String key, long expectedVersion, String value,
+                                             long ttlSeconds, Map<String, String> previous, Map<String, String> current,
+                                             String singleObjectValue) throws JsonProcessingException {
+        List<String> reply = redisTemplate.execute(UPDATE_DATA_ENTITY_SCRIPT,
+            Collections.singletonList(key), String.valueOf(expectedVersion), value, String.valueOf(ttlSeconds),
+            referenceId, isClusterMode() ? "" : INDEX_PREFIX,
+            previous.getOrDefault("category", ""), previous.getOrDefault("status", ""),
+            current.getOrDefault("category", ""), current.getOrDefault("status", ""), singleObjectValue);
+        
+        if (reply == null || reply.isEmpty()) {
+            logger.error("Empty reply from update script for reference ID: {}", referenceId);
+            return PartialUpdateResult.of(PartialUpdateResult.Status.FAILED);
+        }
+        
+        switch (reply.get(0)) {
+            case "UPDATED":
+                CacheData updated = deserialize(reply.get(1));
+                if (isClusterMode()) {
+                    for (String field : INDEXED_FIELDS) {
+                        moveIndexEntry(referenceId, field, previous.get(field), current.get(field));
+                    }
+                }
+                logger.debug("Updated reference ID: {} to version {}", referenceId, updated.getVersion());
+                return PartialUpdateResult.updated(updated);
+            case "CONFLICT":
+                return reply.get(1).isEmpty()
+                    ? PartialUpdateResult.of(PartialUpdateResult.Status.VERSION_CONFLICT)
+                    : PartialUpdateResult.conflict(Long.parseLong(reply.get(1)));
+            case "NOT_FOUND":
+                return PartialUpdateResult.of(PartialUpdateResult.Status.NOT_FOUND);
+            default:
+                logger.error("Unexpected update status {} for reference ID: {}", reply.get(0), referenceId);
+                return PartialUpdateResult.of(PartialUpdateResult.Status.FAILED);
+        }
+    }
+    
+    /**
+     * Store data and add it to the category, status and creation time indexes in one atomic step.
+     * The category and status are read from the cached content.
+     */
+    public boolean storeIndexedData(String referenceId, CacheData cacheData, LocalDateTime indexedAt) {
+        return storeIndexedData(referenceId, cacheData, indexedAt, false);
+    }
+    
+    /**
+     * Like storeIndexedData, but leaves an existing entry untouched. Used to repopulate
+     * the cache without overwriting a newer write that got there first.
+     */
+    public boolean storeIndexedDataIfAbsent(String referenceId, CacheData cacheData, LocalDateTime indexedAt) {
+        return storeIndexedData(referenceId, cacheData, indexedAt, true);
+    }
+    
+    /**
+     * Replace a cached entry with a fresh copy, provided the entry is still at the given
+     * version; the copy keeps that version, since nothing was written in between. Index
+     * membership moves with the content as for an update. Returns false when the entry
+     * changed or disappeared in the meantime, or is still in the older single-object format.
+     *
+     * @param previousContent content of the entry at that version
+     */
+    public boolean replaceIndexedData(String referenceId, CacheData cacheData, long expectedVersion, Object previousContent) {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("store", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            cacheTtlPolicy.applyJitter(cacheData);
+            cacheData.setVersion(expectedVersion);
+            String jsonData = serialize(cacheData);
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(jsonData.length()));
+            hotKeyTracker.recordAccess(referenceId, jsonData.length());
+            
+            long ttl = cacheData.getTtlSeconds() != null && cacheData.getTtlSeconds() > 0 ? cacheData.getTtlSeconds() : 0;
+            PartialUpdateResult result = replaceEntry(referenceId, generateKey(referenceId), expectedVersion, jsonData, ttl,
+                indexedFields(previousContent), indexedFields(cacheData.getContent()), "");
+            boolean replaced = result.getStatus() == PartialUpdateResult.Status.UPDATED;
+            outcome = replaced ? CacheMetrics.OUTCOME_SUCCESS : CacheMetrics.OUTCOME_SKIPPED;
+            return replaced;
+        } catch (Exception e) {
+            observation.error(e);
+            logger.error("Failed to replace data with reference ID: {}", referenceId, e);
+            return false;
+        } finally {
+            cacheMetrics.record(sample, "store", cacheData.getDataType(), outcome);
+            stopObservation(observation, outcome);
+        }
+    }
+    
+    private boolean storeIndexedData(String referenceId, CacheData cacheData, LocalDateTime indexedAt, boolean onlyIfAbsent) {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("store", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            cacheTtlPolicy.applyJitter(cacheData);
+            String key = generateKey(referenceId);
+            String jsonData = serialize(cacheData);
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(jsonData.length()));
+            hotKeyTracker.recordAccess(referenceId, jsonData.length());
+            long ttl = cacheData.getTtlSeconds() != null && cacheData.getTtlSeconds() > 0 ? cacheData.getTtlSeconds() : 0;
+            long score = indexedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            
+            Long stored = isClusterMode()
+                ? storeThenIndex(referenceId, key, jsonData, ttl, score, cacheData.getContent(), onlyIfAbsent)
+                : redisTemplate.execute(STORE_DATA_ENTITY_SCRIPT, Arrays.asList(key, CREATED_INDEX_KEY),
+                    jsonData, String.valueOf(ttl), referenceId, String.valueOf(score), INDEX_PREFIX, onlyIfAbsent ? "NX" : "");
+            
+            if (stored == null || stored == 0) {
+                logger.debug("Entry already present for reference ID: {}, not overwritten", referenceId);
+                outcome = CacheMetrics.OUTCOME_SKIPPED;
+                return false;
+            }
+            hotPathLogger.info(logger, "cache.store_indexed", "Stored indexed data with reference ID: {} and TTL: {} seconds", referenceId, ttl);
+            outcome = CacheMetrics.OUTCOME_SUCCESS;
+            return true;
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize data for reference ID: {}", referenceId, e);
+            return false;
+        } catch (Exception e) {
+            observation.error(e);
+            logger.error("Failed to store indexed data with reference ID: {}", referenceId, e);
+            return false;
+        } finally {
+            cacheMetrics.record(sample, "store", cacheData.getDataType(), outcome);
+            stopObservation(observation, outcome);
+        }
+    }
+    
+    /**
+     * Delete data and remove it from the secondary indexes in one atomic step
+     */
+    public boolean deleteIndexedData(String referenceId) {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("delete", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            String key = generateKey(referenceId);
+            Long deleted = isClusterMode()
+                ? deleteThenUnindex(referenceId, key)
+                : redisTemplate.execute(DELETE_DATA_ENTITY_SCRIPT, Arrays.asList(key, CREATED_INDEX_KEY),
+                    referenceId, INDEX_PREFIX);
+            hotPathLogger.info(logger, "cache.delete_indexed", "Deleted indexed data for reference ID: {}, success: {}", referenceId, deleted);
+            outcome = deleted != null && deleted > 0 ? CacheMetrics.OUTCOME_HIT : CacheMetrics.OUTCOME_MISS;
+            return deleted != null && deleted > 0;
+        } catch (Exception e) {
+            observation.error(e);
+            logger.error("Failed to delete indexed data with reference ID: {}", referenceId, e);
+            return false;
+        } finally {
+            cacheMetrics.record(sample, "delete", "DATA_ENTITY", outcome);
+            stopObservation(observation, outcome);
+        }
+    }
+    
+    /**
+     * Reference IDs in the category and/or status indexes (intersection when both are given)
+     */
+    public Set<String> findIndexedReferenceIds(String category, String status) {
+        try {
+            List<String> indexKeys = new ArrayList<>();
+            if (category != null) {
+                indexKeys.add(generateIndexKey("category", category));
+            }
+            if (status != null) {
+                indexKeys.add(generateIndexKey("status", status));
+            }
+            if (indexKeys.isEmpty()) {
+                return new HashSet<>();
+            }
+            
+            Set<String> ids = indexKeys.size() == 1 ?
+                redisTemplate.opsForSet().members(indexKeys.get(0)) :
+                redisTemplate.opsForSet().intersect(indexKeys);
+            return ids != null ? ids : new HashSet<>();
+        } catch (Exception e) {
+            logger.error("Failed to query indexes for category: {}, status: {}", category, status, e);
+            return new HashSet<>();
+        }
+    }
+    
+    /**
+     * Creation time index scores (epoch millis) for the given reference IDs, null where not indexed
+     */
+    public List<Double> getCreatedIndexScores(List<String> referenceIds) {
+        try {
+            if (referenceIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<Double> scores = redisTemplate.opsForZSet().score(CREATED_INDEX_KEY, referenceIds.toArray());
+            return scores != null ? scores : new ArrayList<>();
+        } catch (Exception e) {
+            logger.error("Failed to read creation index scores", e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Reference IDs created within [from, to] epoch millis, newest first
+     */
+    public List<String> findReferenceIdsByCreatedRange(double from, double to, long limit) {
+        try {
+            Set<String> ids = redisTemplate.opsForZSet().reverseRangeByScore(CREATED_INDEX_KEY, from, to, 0, limit);
+            return ids != null ? new ArrayList<>(ids) : new ArrayList<>();
+        } catch (Exception e) {
+            logger.error("Failed to query creation index between {} and {}", from, to, e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * One page of the creation time index, newest first, continuing after the given anchor.
+     * Returns reference IDs mapped to their index score in page order.
+     *
+     * @param afterReferenceId last reference ID of the previous page, or null for the first page
+     * @param afterScore score of that reference ID, used if it has since been removed
+     */
+    @SuppressWarnings("unchecked")
+    public LinkedHashMap<String, Double> getCreatedIndexPage(String afterReferenceId, double afterScore, int limit) {
+        LinkedHashMap<String, Double> page = new LinkedHashMap<>();
+        try {
+            List<String> reply = redisTemplate.execute(PAGE_CREATED_INDEX_SCRIPT,
+                Collections.singletonList(CREATED_INDEX_KEY),
+                afterReferenceId != null ? afterReferenceId : "", String.valueOf((long) afterScore), String.valueOf(limit));
+            
+            if (reply != null) {
+                for (int i = 0; i + 1 < reply.size(); i += 2) {
+                    page.put(reply.get(i), Double.valueOf(reply.get(i + 1)));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to read creation index page after: {}", afterReferenceId, e);
+        }
+        return page;
+    }
+    
+    /**
+     * Walk all data keys matching the pattern with SCAN and hand the entries to the
+     * consumer in batches, each loaded with one pipelined read. Only one batch is
+     * held in memory at a time.
+     */
+    public void scanData(String pattern, int batchSize, Consumer<Map<String, CacheData>> consumer) {
+        scanData(pattern, batchSize, null, consumer);
+    }
+    
+    /**
+     * Like scanData, but only hands over entries of the given data type (any when null)
+     */
+    public void scanData(String pattern, int batchSize, String dataType, Consumer<Map<String, CacheData>> consumer) {
+        List<String> batch = new ArrayList<>(batchSize);
+        scanKeys(pattern, batchSize, key -> {
+            batch.add(extractReferenceId(key));
+            if (batch.size() >= batchSize) {
+                consumer.accept(getDataBulk(batch, dataType));
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            consumer.accept(getDataBulk(batch, dataType));
+        }
+    }
+    
+    /**
+     * Walk all keys matching the pattern with SCAN, count keys per call, handing each to
+     * the consumer as it is found
+     */
+    public void scanKeys(String pattern, int count, Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(count).build();
+        
+        if (!isClusterMode()) {
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(consumer);
+            }
+            return;
+        }
+        // SCAN only covers one node on a cluster, so walk every master in turn
+        try (RedisClusterConnection connection = redisTemplate.getRequiredConnectionFactory().getClusterConnection()) {
+            for (RedisClusterNode node : connection.clusterGetNodes()) {
+                if (!node.isMaster()) {
+                    continue;
+                }
+                try (Cursor<String> cursor = new ConvertingCursor<>(connection.scan(node, options),
+                        bytes -> new String(bytes, StandardCharsets.UTF_8))) {
+                    cursor.forEachRemaining(consumer);
+                }
+            }
+        }
+    }
+    
+    /**
+     * SCAN pattern for the data keys of the reference IDs matching a pattern such as
+     * CLD-*. Reference IDs sit inside a hash tag, so the pattern is wrapped in braces;
+     * a full data key pattern (cloud-integration:data:*) is translated the same way, and
+     * one that already has the brace, or names another key type, is used as is.
+     */
+    public static String dataKeyPattern(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return DATA_PREFIX + "{*}";
+        }
+        String idPattern = pattern;
+        if (pattern.startsWith(DATA_PREFIX)) {
+            idPattern = pattern.substring(DATA_PREFIX.length());
+        } else if (pattern.startsWith(KEY_NAMESPACE)) {
+            return pattern;
+        }
+        return idPattern.startsWith("{") ? DATA_PREFIX + idPattern : DATA_PREFIX + "{" + idPattern + "}";
+    }
+    
+    /**
+     * Remove reference IDs whose data has expired from the given index sets and the creation index
+     */
+    public void pruneIndexEntries(Collection<String> referenceIds, String category, String status) {
+        if (referenceIds.isEmpty()) {
+            return;
+        }
+        try {
+            Object[] members = referenceIds.toArray();
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    if (category != null) {
+                        operations.opsForSet().remove(generateIndexKey("category", category), members);
+                    }
+                    if (status != null) {
+                        operations.opsForSet().remove(generateIndexKey("status", status), members);
+                    }
+                    operations.opsForZSet().remove(CREATED_INDEX_KEY, members);
+                    return null;
+                }
+            });
+            logger.debug("Pruned {} stale index entries", referenceIds.size());
+        } catch (Exception e) {
+            logger.warn("Failed to prune stale index entries", e);
+        }
+    }
+    
+    /**
+     * Retrieve several entries with a single pipelined round trip. Missing or
+     * unreadable entries are omitted; the result preserves the requested order.
+     */
+    public Map<String, CacheData> getDataBulk(List<String> referenceIds) {
+        return getDataBulk(referenceIds, null);
+    }
+    
+    /**
+     * Like getDataBulk, but leaves out entries of other data types. Those are recognised
+     * from the value header, so their content is never parsed.
+     */
+    public Map<String, CacheData> getDataBulk(List<String> referenceIds, String dataType) {
+        Map<String, CacheData> result = new LinkedHashMap<>();
+        if (referenceIds.isEmpty()) {
+            return result;
+        }
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("get_bulk", null);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            List<Object> values = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    for (String referenceId : referenceIds) {
+                        operations.opsForValue().get(generateKey(referenceId));
+                    }
+                    return null;
+                }
+            });
+            
+            long payloadBytes = 0;
+            int misses = 0;
+            int skipped = 0;
+            for (int i = 0; i < referenceIds.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) {
+                    misses++;
+                    continue;
+                }
+                payloadBytes += ((String) value).length();
+                hotKeyTracker.recordAccess(referenceIds.get(i), ((String) value).length());
+                try {
+                    CacheData cacheData = deserialize((String) value, dataType);
+                    if (cacheData != null) {
+                        result.put(referenceIds.get(i), cacheData);
+                    } else {
+                        skipped++;
+                    }
+                } catch (JsonProcessingException e) {
+                    logger.error("Failed to deserialize data for reference ID: {}", referenceIds.get(i), e);
+                }
+            }
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(payloadBytes));
+            observation.highCardinalityKeyValue("cache.entries", String.valueOf(referenceIds.size()));
+            cacheMetrics.recordBulkEntries(CacheMetrics.OUTCOME_HIT, result.size());
+            cacheMetrics.recordBulkEntries(CacheMetrics.OUTCOME_MISS, misses);
+            cacheMetrics.recordBulkEntries(CacheMetrics.OUTCOME_SKIPPED, skipped);
+            outcome = CacheMetrics.OUTCOME_SUCCESS;
+            logger.debug("Retrieved {} of {} entries in bulk", result.size(), referenceIds.size());
+        } catch (Exception e) {
+            observation.error(e);
+            logger.error("Failed to retrieve {} entries in bulk", referenceIds.size(), e);
+        } finally {
+            cacheMetrics.record(sample, "get_bulk", null, outcome);
+            stopObservation(observation, outcome);
         }
+        return result;
     }
     
     // Store simple key-value pair
@@ -142,14 +778,22 @@ public class RedisCacheService {
     
     // Delete data by reference ID
     public boolean deleteData(String referenceId) {
-        try {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("delete", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
             String key = generateKey(referenceId);
             Boolean deleted = redisTemplate.delete(key);
-            logger.info("Deleted data for reference ID: {}, success: {}", referenceId, deleted);
+            hotPathLogger.info(logger, "cache.delete", "Deleted data for reference ID: {}, success: {}", referenceId, deleted);
+            outcome = Boolean.TRUE.equals(deleted) ? CacheMetrics.OUTCOME_HIT : CacheMetrics.OUTCOME_MISS;
             return Boolean.TRUE.equals(deleted);
         } catch (Exception e) {
+            observation.error(e);
             logger.error("Failed to delete data with reference ID: {}", referenceId, e);
             return false;
+        } finally {
+            cacheMetrics.record(sample, "delete", null, outcome);
+            stopObservation(observation, outcome);
         }
     }
     
@@ -177,13 +821,19 @@ public class RedisCacheService {
         }
     }
     
-    // Set TTL for existing key
+    /**
+     * Change the TTL of an existing entry and its metadata, rewriting the stored ttl_seconds
+     * and expires_at to match in the same step. A TTL of 0 or less removes the expiry.
+     */
     public boolean setTtl(String referenceId, long ttlSeconds) {
         try {
-            String key = generateKey(referenceId);
-            Boolean result = redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
-            logger.info("Set TTL for reference ID: {} to {} seconds, success: {}", referenceId, ttlSeconds, result);
-            return Boolean.TRUE.equals(result);
+            String expiresAt = ttlSeconds > 0 ? LocalDateTime.now().plusSeconds(ttlSeconds).format(EXPIRES_AT_FORMAT) : "";
+            Long result = redisTemplate.execute(SET_TTL_SCRIPT,
+                Arrays.asList(generateKey(referenceId), generateMetadataKey(referenceId)),
+                String.valueOf(Math.max(0, ttlSeconds)), expiresAt);
+            boolean set = result != null && result > 0;
+            hotPathLogger.info(logger, "cache.set_ttl", "Set TTL for reference ID: {} to {} seconds, success: {}", referenceId, ttlSeconds, set);
+            return set;
         } catch (Exception e) {
             logger.error("Failed to set TTL for reference ID: {}", referenceId, e);
             return false;
@@ -202,53 +852,40 @@ public class RedisCacheService {
         }
     }
     
-    // Get all keys matching pattern
+    // Get all keys matching pattern, with SCAN so Redis is not blocked as by KEYS
     public Set<String> getKeys(String pattern) {
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            return keys != null ? keys : new HashSet<>();
+            Set<String> keys = new HashSet<>();
+            scanKeys(pattern, SCAN_BATCH_SIZE, keys::add);
+            return keys;
         } catch (Exception e) {
             logger.error("Failed to get keys for pattern: {}", pattern, e);
             return new HashSet<>();
         }
     }
     
-    // Get cache statistics
+    // Cache statistics read from the cache meters, without a Redis round trip
     public Map<String, Object> getCacheStats() {
-        Map<String, Object> stats = new HashMap<>();
-        try {
-            Properties info = redisTemplate.getConnectionFactory().getConnection().info();
-            stats.put("redis_version", info.getProperty("redis_version"));
-            stats.put("used_memory", info.getProperty("used_memory_human"));
-            stats.put("connected_clients", info.getProperty("connected_clients"));
-            stats.put("total_commands_processed", info.getProperty("total_commands_processed"));
-            stats.put("keyspace_hits", info.getProperty("keyspace_hits"));
-            stats.put("keyspace_misses", info.getProperty("keyspace_misses"));
-            
-            // Get count of our application keys
-            Set<String> appKeys = getKeys("cloud-integration:*");
-            stats.put("application_keys_count", appKeys.size());
-            
-            logger.debug("Retrieved cache statistics");
-        } catch (Exception e) {
-            logger.error("Failed to get cache statistics", e);
-            stats.put("error", "Failed to retrieve statistics");
-        }
-        return stats;
+        return cacheMetrics.getStats();
+    }
+    
+    /**
+     * The most accessed and the largest entries seen recently, from sampled reads and writes
+     */
+    public Map<String, Object> getHotKeys(int limit) {
+        return hotKeyTracker.getSnapshot(limit);
     }
     
     // Bulk operations
     public Map<String, CacheData> getAllDataByPattern(String pattern) {
+        return getAllDataByPattern(pattern, null);
+    }
+    
+    // Entries of other data types are skipped from their header, without parsing their content
+    public Map<String, CacheData> getAllDataByPattern(String pattern, String dataType) {
         Map<String, CacheData> result = new HashMap<>();
         try {
-            Set<String> keys = getKeys(pattern);
-            for (String key : keys) {
-                String referenceId = extractReferenceId(key);
-                Optional<CacheData> data = getData(referenceId);
-                if (data.isPresent()) {
-                    result.put(referenceId, data.get());
-                }
-            }
+            scanData(pattern, SCAN_BATCH_SIZE, dataType, result::putAll);
             logger.debug("Retrieved {} data entries for pattern: {}", result.size(), pattern);
         } catch (Exception e) {
             logger.error("Failed to get all data for pattern: {}", pattern, e);
@@ -256,52 +893,359 @@ public class RedisCacheService {
         return result;
     }
     
-    // Clear all application cache
+    // Clear all application cache, deleting keys in batches as SCAN finds them
     public boolean clearAllCache() {
         try {
-            Set<String> keys = getKeys("cloud-integration:*");
-            if (keys.isEmpty()) {
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            long[] deletedCount = {0};
+            scanKeys(KEY_NAMESPACE + "*", SCAN_BATCH_SIZE, key -> {
+                batch.add(key);
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    deletedCount[0] += deleteKeys(batch);
+                    batch.clear();
+                }
+            });
+            deletedCount[0] += deleteKeys(batch);
+            
+            if (deletedCount[0] == 0) {
                 logger.info("No cache keys to clear");
-                return true;
+            } else {
+                logger.info("Cleared {} cache entries", deletedCount[0]);
             }
-            
-            Long deletedCount = redisTemplate.delete(keys);
-            logger.info("Cleared {} cache entries", deletedCount);
-            return deletedCount > 0;
+            return true;
         } catch (Exception e) {
             logger.error("Failed to clear all cache", e);
             return false;
         }
     }
     
+    /**
+     * Move entries written before keys carried hash tags to their current keys, so they
+     * are still found after an upgrade. Runs at startup and finds nothing to do once the
+     * keyspace is migrated; instances starting together may run it concurrently.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyKeys() {
+        if (!migrateLegacyKeys) {
+            return;
+        }
+        try {
+            int[] migrated = {0};
+            scanKeys(KEY_NAMESPACE + "*", SCAN_BATCH_SIZE, key -> {
+                String currentKey = currentKeyFor(key);
+                if (currentKey != null && moveLegacyKey(key, currentKey)) {
+                    migrated[0]++;
+                }
+            });
+            if (migrated[0] > 0) {
+                logger.info("Migrated {} cache keys to the hash-tagged key format", migrated[0]);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to migrate legacy cache keys", e);
+        }
+    }
+    
     // Private helper methods
-    private String generateKey(String referenceId) {
-        return "cloud-integration:data:" + referenceId;
+    // Span around one cache round trip, nested in the current request or pipeline stage
+    private Observation startObservation(String operation, String referenceId) {
+        Observation observation = Observation.createNotStarted(CACHE_OBSERVATION, observationRegistry)
+            .contextualName("cache " + operation)
+            .lowCardinalityKeyValue("operation", operation);
+        if (referenceId != null) {
+            observation.highCardinalityKeyValue("reference.id", referenceId);
+        }
+        return observation.start();
+    }
+    
+    private static void stopObservation(Observation observation, String outcome) {
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+    }
+    
+    // Payload sizes are recorded as serialized length, which equals bytes for ASCII JSON
+    private String serialize(CacheData cacheData) throws JsonProcessingException {
+        long start = System.nanoTime();
+        String json = cacheDataCodec.encode(cacheData);
+        cacheMetrics.recordPayload("write", cacheData.getDataType(), json.length(), System.nanoTime() - start);
+        return json;
+    }
+    
+    private CacheData deserialize(String json) throws JsonProcessingException {
+        return deserialize(json, null);
+    }
+    
+    // Null when the entry is not of the given data type
+    private CacheData deserialize(String json, String dataType) throws JsonProcessingException {
+        long start = System.nanoTime();
+        CacheData cacheData = cacheDataCodec.decode(json, dataType);
+        if (cacheData != null) {
+            cacheMetrics.recordPayload("read", cacheData.getDataType(), json.length(), System.nanoTime() - start);
+        }
+        return cacheData;
+    }
+    
+    static String generateKey(String referenceId) {
+        return DATA_PREFIX + "{" + referenceId + "}";
+    }
+    
+    // Current key for a key in the format without hash tags, or null when the key is current
+    static String currentKeyFor(String key) {
+        if (key.startsWith(DATA_PREFIX) && !key.startsWith(DATA_PREFIX + "{")) {
+            return generateKey(key.substring(DATA_PREFIX.length()));
+        }
+        if (key.startsWith(METADATA_PREFIX) && !key.startsWith(METADATA_PREFIX + "{")) {
+            return generateMetadataKey(key.substring(METADATA_PREFIX.length()));
+        }
+        if (key.startsWith(LEGACY_INDEX_PREFIX) && !key.startsWith(INDEX_PREFIX)) {
+            return INDEX_PREFIX + key.substring(LEGACY_INDEX_PREFIX.length());
+        }
+        return null;
+    }
+    
+    /**
+     * Index entries are merged into the current index; values are copied with their TTL
+     * unless the current key was written since the upgrade, which makes it the newer one.
+     * DUMP/RESTORE rather than RENAME, since on a cluster the two keys are in different slots.
+     */
+    private boolean moveLegacyKey(String legacyKey, String key) {
+        DataType type = redisTemplate.type(legacyKey);
+        if (type == DataType.SET) {
+            Set<String> members = redisTemplate.opsForSet().members(legacyKey);
+            if (members != null && !members.isEmpty()) {
+                redisTemplate.opsForSet().add(key, members.toArray(new String[0]));
+            }
+        } else if (type == DataType.ZSET) {
+            Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet().rangeWithScores(legacyKey, 0, -1);
+            if (entries != null && !entries.isEmpty()) {
+                redisTemplate.opsForZSet().add(key, entries);
+            }
+        } else if (type == DataType.STRING) {
+            byte[] value = redisTemplate.dump(legacyKey);
+            Long ttlMillis = redisTemplate.getExpire(legacyKey, TimeUnit.MILLISECONDS);
+            if (value == null || ttlMillis == null || ttlMillis == -2) {
+                return false;
+            }
+            try {
+                // A TTL of 0 restores the key without expiry
+                redisTemplate.restore(key, value, Math.max(ttlMillis, 0), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                logger.debug("Keeping current key {} over legacy key {}", key, legacyKey);
+            }
+        } else {
+            return false;
+        }
+        redisTemplate.delete(legacyKey);
+        return true;
+    }
+    
+    private long deleteKeys(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = redisTemplate.delete(keys);
+        return deleted != null ? deleted : 0;
     }
     
     private String extractReferenceId(String key) {
-        return key.replace("cloud-integration:data:", "");
+        String referenceId = key.substring(DATA_PREFIX.length());
+        if (referenceId.startsWith("{") && referenceId.endsWith("}")) {
+            return referenceId.substring(1, referenceId.length() - 1);
+        }
+        return referenceId;
+    }
+    
+    private boolean isClusterMode() {
+        return clusterNodes != null && !clusterNodes.isBlank();
+    }
+    
+    // A standalone node has no replicas, so replica reads already went to the primary
+    private boolean hasReplicas() {
+        return isClusterMode() || (sentinelMaster != null && !sentinelMaster.isBlank());
+    }
+    
+    /**
+     * Cluster variant of the store script: the data key and the index keys live in
+     * different slots, so they are written one after the other. An index entry whose
+     * data key is gone is pruned by the next query that reads it.
+     */
+    private Long storeThenIndex(String referenceId, String key, String jsonData, long ttl, long score,
+                                Object content, boolean onlyIfAbsent) {
+        Boolean stored;
+        if (onlyIfAbsent) {
+            stored = ttl > 0 ? valueOperations.setIfAbsent(key, jsonData, Duration.ofSeconds(ttl))
+                             : valueOperations.setIfAbsent(key, jsonData);
+        } else {
+            if (ttl > 0) {
+                valueOperations.set(key, jsonData, Duration.ofSeconds(ttl));
+            } else {
+                valueOperations.set(key, jsonData);
+            }
+            stored = true;
+        }
+        if (!Boolean.TRUE.equals(stored)) {
+            return 0L;
+        }
+        
+        String category = indexedField(content, "category");
+        String status = indexedField(content, "status");
+        if (category != null) {
+            redisTemplate.opsForSet().add(generateIndexKey("category", category), referenceId);
+        }
+        if (status != null) {
+            redisTemplate.opsForSet().add(generateIndexKey("status", status), referenceId);
+        }
+        redisTemplate.opsForZSet().add(CREATED_INDEX_KEY, referenceId, score);
+        return 1L;
+    }
+    
+    /**
+     * Cluster variant of the delete script, see storeThenIndex
+     */
+    private Long deleteThenUnindex(String referenceId, String key) throws JsonProcessingException {
+        redisTemplate.opsForZSet().remove(CREATED_INDEX_KEY, referenceId);
+        String raw = valueOperations.get(key);
+        if (raw == null) {
+            return 0L;
+        }
+        
+        Object content = cacheDataCodec.decode(raw).getContent();
+        String category = indexedField(content, "category");
+        String status = indexedField(content, "status");
+        if (category != null) {
+            redisTemplate.opsForSet().remove(generateIndexKey("category", category), referenceId);
+        }
+        if (status != null) {
+            redisTemplate.opsForSet().remove(generateIndexKey("status", status), referenceId);
+        }
+        return Boolean.TRUE.equals(redisTemplate.delete(key)) ? 1L : 0L;
+    }
+    
+    private void moveIndexEntry(String referenceId, String field, String previous, String current) {
+        String old = previous == null || previous.isEmpty() ? null : previous;
+        if (Objects.equals(old, current)) {
+            return;
+        }
+        if (old != null) {
+            redisTemplate.opsForSet().remove(generateIndexKey(field, old), referenceId);
+        }
+        if (current != null) {
+            redisTemplate.opsForSet().add(generateIndexKey(field, current), referenceId);
+        }
+    }
+    
+    private Map<String, String> indexedFields(Object content) {
+        Map<String, String> fields = new HashMap<>();
+        for (String field : INDEXED_FIELDS) {
+            String value = indexedField(content, field);
+            if (value != null) {
+                fields.put(field, value);
+            }
+        }
+        return fields;
+    }
+    
+    private String indexedField(Object content, String field) {
+        if (content == null) {
+            return null;
+        }
+        JsonNode value = objectMapper.valueToTree(content).get(field);
+        return value != null && value.isTextual() && !value.asText().isEmpty() ? value.asText() : null;
+    }
+    
+    private String generateIndexKey(String field, String value) {
+        return INDEX_PREFIX + field + ":" + value;
+    }
+    
+    private static <T> RedisScript<T> loadScript(String location, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(location)));
+        script.setResultType(resultType);
+        return script;
     }
     
     // Store with metadata
+    /**
+     * Store an entry and its metadata in one round trip. Both keys are written by a single
+     * script with the entry's TTL, so they are never seen half-written and expire together.
+     * They share a hash tag, which keeps the script valid on Redis Cluster.
+     */
     public boolean storeDataWithMetadata(String referenceId, CacheData cacheData, Map<String, Object> metadata) {
-        try {
-            // Store the main data
-            boolean stored = storeData(referenceId, cacheData);
-            if (!stored) {
-                return false;
-            }
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("store", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            cacheTtlPolicy.applyJitter(cacheData);
+            String jsonData = serialize(cacheData);
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(jsonData.length()));
+            hotKeyTracker.recordAccess(referenceId, jsonData.length());
+            String jsonMetadata = metadata != null && !metadata.isEmpty() ? objectMapper.writeValueAsString(metadata) : "";
+            long ttl = cacheData.getTtlSeconds() != null && cacheData.getTtlSeconds() > 0 ? cacheData.getTtlSeconds() : 0;
             
-            // Store metadata separately
-            if (metadata != null && !metadata.isEmpty()) {
-                String metadataKey = generateMetadataKey(referenceId);
-                storeValue(metadataKey, metadata, cacheData.getTtlSeconds());
-            }
+            redisTemplate.execute(STORE_DATA_WITH_METADATA_SCRIPT,
+                Arrays.asList(generateKey(referenceId), generateMetadataKey(referenceId)),
+                jsonData, jsonMetadata, String.valueOf(ttl));
             
+            hotPathLogger.info(logger, "cache.store_with_metadata", "Stored data with metadata for reference ID: {} and TTL: {} seconds", referenceId, ttl);
+            outcome = CacheMetrics.OUTCOME_SUCCESS;
             return true;
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize data with metadata for reference ID: {}", referenceId, e);
+            return false;
         } catch (Exception e) {
+            observation.error(e);
             logger.error("Failed to store data with metadata for reference ID: {}", referenceId, e);
             return false;
+        } finally {
+            cacheMetrics.record(sample, "store", cacheData.getDataType(), outcome);
+            stopObservation(observation, outcome);
+        }
+    }
+    
+    /**
+     * Fetch an entry and its metadata with a single MGET, repeated on the master when a
+     * replica misses. Empty when the entry is missing, expired or unreadable; the metadata
+     * map is empty when none was stored.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<DataWithMetadata> getDataWithMetadata(String referenceId) {
+        Timer.Sample sample = cacheMetrics.start();
+        Observation observation = startObservation("get", referenceId);
+        String outcome = CacheMetrics.OUTCOME_ERROR;
+        String dataType = null;
+        try (Observation.Scope scope = observation.openScope()) {
+            List<String> keys = Arrays.asList(generateKey(referenceId), generateMetadataKey(referenceId));
+            List<String> values = replicaReadTemplate.opsForValue().multiGet(keys);
+            if ((values == null || values.get(0) == null) && hasReplicas()) {
+                // Not replicated yet, or really missing
+                values = valueOperations.multiGet(keys);
+            }
+            
+            if (values == null || values.get(0) == null) {
+                logger.debug("No data found for reference ID: {}", referenceId);
+                outcome = CacheMetrics.OUTCOME_MISS;
+                return Optional.empty();
+            }
+            
+            observation.highCardinalityKeyValue(PAYLOAD_SIZE_KEY, String.valueOf(values.get(0).length()));
+            hotKeyTracker.recordAccess(referenceId, values.get(0).length());
+            CacheData cacheData = deserialize(values.get(0));
+            dataType = cacheData.getDataType();
+            
+            Map<String, Object> metadata = values.get(1) != null
+                ? objectMapper.readValue(values.get(1), Map.class)
+                : Collections.emptyMap();
+            outcome = CacheMetrics.OUTCOME_HIT;
+            return Optional.of(new DataWithMetadata(cacheData, metadata));
+            
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to deserialize data with metadata for reference ID: {}", referenceId, e);
+            return Optional.empty();
+        } catch (Exception e) {
+            observation.error(e);
+            logger.error("Failed to retrieve data with metadata for reference ID: {}", referenceId, e);
+            return Optional.empty();
+        } finally {
+            cacheMetrics.record(sample, "get", dataType, outcome);
+            stopObservation(observation, outcome);
         }
     }
     
@@ -317,7 +1261,73 @@ public class RedisCacheService {
         }
     }
     
-    private String generateMetadataKey(String referenceId) {
-        return "cloud-integration:metadata:" + referenceId;
+    private static String generateMetadataKey(String referenceId) {
+        return METADATA_PREFIX + "{" + referenceId + "}";
+    }
+    
+    /**
+     * A cached entry together with its metadata
+     */
+    public static class DataWithMetadata {
+        
+        private final CacheData cacheData;
+        private final Map<String, Object> metadata;
+        
+        public DataWithMetadata(CacheData cacheData, Map<String, Object> metadata) {
+            this.cacheData = cacheData;
+            this.metadata = metadata;
+        }
+        
+        public CacheData getCacheData() {
+            return cacheData;
+        }
+        
+        public Map<String, Object> getMetadata() {
+            return metadata;
+        }
+    }
+    
+    /**
+     * Outcome of a server-side partial update
+     */
+    public static class PartialUpdateResult {
+        
+        public enum Status {
+            UPDATED, NOT_FOUND, INVALID_CONTENT, VERSION_CONFLICT, FAILED
+        }
+        
+        private final Status status;
+        private final CacheData cacheData;
+        private final Long currentVersion;
+        
+        private PartialUpdateResult(Status status, CacheData cacheData, Long currentVersion) {
+            this.status = status;
+            this.cacheData = cacheData;
+            this.currentVersion = currentVersion;
+        }
+        
+        static PartialUpdateResult updated(CacheData cacheData) {
+            return new PartialUpdateResult(Status.UPDATED, cacheData, cacheData.getVersion());
+        }
+        
+        static PartialUpdateResult conflict(long currentVersion) {
+            return new PartialUpdateResult(Status.VERSION_CONFLICT, null, currentVersion);
+        }
+        
+        static PartialUpdateResult of(Status status) {
+            return new PartialUpdateResult(status, null, null);
+        }
+        
+        public Status getStatus() {
+            return status;
+        }
+        
+        public CacheData getCacheData() {
+            return cacheData;
+        }
+        
+        public Long getCurrentVersion() {
+            return currentVersion;
+        }
     }
 }
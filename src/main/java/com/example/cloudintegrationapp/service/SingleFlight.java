@@ -0,0 +1,87 @@
+package com.example.cloudintegrationapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one in-flight call. The first caller
+ * for a key runs the loader; callers arriving while it runs wait for and share its result.
+ * Nothing is cached once the load completes.
+ * <p>
+ * Calls are counted in single_flight.calls, tagged with the flight name and whether the
+ * caller ran the loader ("executed") or shared another caller's result ("coalesced").
+ */
+public class SingleFlight<K, V> {
+    
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Counter executedCounter;
+    private final Counter coalescedCounter;
+    
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executedCounter = Counter.builder("single_flight.calls")
+            .description("Loads run or shared through a single-flight group")
+            .tags("name", name, "result", "executed")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("single_flight.calls")
+            .description("Loads run or shared through a single-flight group")
+            .tags("name", name, "result", "coalesced")
+            .register(meterRegistry);
+        Gauge.builder("single_flight.in_flight", inFlight, Map::size)
+            .description("Loads currently running in a single-flight group")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+    
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+        
+        executedCounter.increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+    
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "inFlight", inFlight.size(),
+            "executed", (long) executedCounter.count(),
+            "coalesced", (long) coalescedCounter.count()
+        );
+    }
+    
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
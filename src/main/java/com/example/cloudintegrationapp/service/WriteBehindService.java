@@ -0,0 +1,236 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.DataEntity;
+import com.example.cloudintegrationapp.repository.DataEntityJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind persistence of cached data entities to the data_entities table.
+ *
+ * Mutations are queued per reference ID, so repeated updates to the same entity between
+ * flushes collapse into a single row write. A scheduled flush drains the queue in JDBC
+ * batches; failed writes are re-queued unless a newer mutation has arrived meanwhile.
+ */
+@Service
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true", matchIfMissing = true)
+public class WriteBehindService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindService.class);
+    
+    @Autowired
+    private DataEntityJdbcRepository dataEntityJdbcRepository;
+    
+    @Value("${app.write-behind.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${app.write-behind.max-pending:100000}")
+    private int maxPending;
+    
+    private final Map<String, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private final Counter enqueuedCounter;
+    private final Counter coalescedCounter;
+    private final Counter rejectedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+    
+    public WriteBehindService(MeterRegistry meterRegistry) {
+        this.enqueuedCounter = meterRegistry.counter("write_behind.enqueued");
+        this.coalescedCounter = meterRegistry.counter("write_behind.coalesced");
+        this.rejectedCounter = meterRegistry.counter("write_behind.rejected");
+        this.writtenCounter = meterRegistry.counter("write_behind.written");
+        this.failedCounter = meterRegistry.counter("write_behind.failed");
+        this.flushTimer = meterRegistry.timer("write_behind.flush");
+        Gauge.builder("write_behind.pending", pending, Map::size)
+            .description("Mutations waiting to be written to the database")
+            .register(meterRegistry);
+        Gauge.builder("write_behind.lag.seconds", this, WriteBehindService::getLagSeconds)
+            .description("Age of the oldest mutation waiting to be written")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Queue an insert or update of the entity
+     */
+    public boolean enqueueUpsert(DataEntity entity) {
+        // Without its creation time the row cannot be matched and the flush would fail on every retry
+        if (entity.getCreatedAt() == null) {
+            rejectedCounter.increment();
+            logger.error("Data entity has no createdAt, not persisting reference ID: {}", entity.getReferenceId());
+            return false;
+        }
+        return enqueue(entity.getReferenceId(), entity);
+    }
+    
+    /**
+     * Queue removal of the entity
+     */
+    public boolean enqueueDelete(String referenceId) {
+        return enqueue(referenceId, null);
+    }
+    
+    /**
+     * Latest queued state of an entity that has not been flushed yet. An empty inner
+     * Optional means a delete is pending.
+     */
+    public Optional<Optional<DataEntity>> getPending(String referenceId) {
+        PendingWrite write = pending.get(referenceId);
+        return write == null ? Optional.empty() : Optional.of(Optional.ofNullable(write.entity));
+    }
+    
+    @Scheduled(fixedDelayString = "${app.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing {} pending write-behind mutations before shutdown", pending.size());
+        flush();
+    }
+    
+    /**
+     * Write all queued mutations to the database
+     */
+    public int flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            return drain();
+        } finally {
+            flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            flushLock.unlock();
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "pending", pending.size(),
+            "lagSeconds", getLagSeconds(),
+            "enqueued", (long) enqueuedCounter.count(),
+            "coalesced", (long) coalescedCounter.count(),
+            "rejected", (long) rejectedCounter.count(),
+            "written", (long) writtenCounter.count(),
+            "failed", (long) failedCounter.count()
+        );
+    }
+    
+    private boolean enqueue(String referenceId, DataEntity entity) {
+        long now = System.nanoTime();
+        boolean[] coalesced = {false};
+        
+        PendingWrite result = pending.compute(referenceId, (id, existing) -> {
+            if (existing != null) {
+                coalesced[0] = true;
+                return new PendingWrite(entity, existing.queuedAtNanos);
+            }
+            if (pending.size() >= maxPending) {
+                return null;
+            }
+            return new PendingWrite(entity, now);
+        });
+        
+        if (result == null) {
+            rejectedCounter.increment();
+            logger.error("Write-behind queue full ({} pending), not persisting reference ID: {}", maxPending, referenceId);
+            return false;
+        }
+        
+        enqueuedCounter.increment();
+        if (coalesced[0]) {
+            coalescedCounter.increment();
+        }
+        return true;
+    }
+    
+    private int drain() {
+        List<String> referenceIds = new ArrayList<>(pending.keySet());
+        int written = 0;
+        
+        for (int start = 0; start < referenceIds.size(); start += batchSize) {
+            List<String> chunk = referenceIds.subList(start, Math.min(start + batchSize, referenceIds.size()));
+            
+            // Take ownership of the queued writes; anything arriving afterwards waits for the next flush
+            Map<String, PendingWrite> taken = new LinkedHashMap<>();
+            for (String referenceId : chunk) {
+                PendingWrite write = pending.remove(referenceId);
+                if (write != null) {
+                    taken.put(referenceId, write);
+                }
+            }
+            
+            List<DataEntity> upserts = new ArrayList<>();
+            List<String> deletes = new ArrayList<>();
+            taken.forEach((referenceId, write) -> {
+                if (write.entity != null) {
+                    upserts.add(write.entity);
+                } else {
+                    deletes.add(referenceId);
+                }
+            });
+            
+            try {
+                if (!upserts.isEmpty()) {
+                    dataEntityJdbcRepository.upsertBatch(upserts, batchSize);
+                }
+                if (!deletes.isEmpty()) {
+                    dataEntityJdbcRepository.deleteBatch(deletes, batchSize);
+                }
+                written += taken.size();
+                writtenCounter.increment(taken.size());
+            } catch (Exception e) {
+                failedCounter.increment(taken.size());
+                logger.error("Failed to write {} entities behind, re-queueing", taken.size(), e);
+                taken.forEach(pending::putIfAbsent);
+                break;
+            }
+        }
+        
+        if (written > 0) {
+            logger.debug("Wrote {} data entity mutations to the database", written);
+        }
+        return written;
+    }
+    
+    private double getLagSeconds() {
+        long oldest = Long.MAX_VALUE;
+        for (PendingWrite write : pending.values()) {
+            oldest = Math.min(oldest, write.queuedAtNanos);
+        }
+        return oldest == Long.MAX_VALUE ? 0 : (System.nanoTime() - oldest) / 1_000_000_000.0;
+    }
+    
+    private static class PendingWrite {
+        private final DataEntity entity;
+        private final long queuedAtNanos;
+        
+        PendingWrite(DataEntity entity, long queuedAtNanos) {
+            this.entity = entity;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- Data entities table, matching the DataEntity mapping
+CREATE TABLE IF NOT EXISTS data_entities (
+    id           BIGSERIAL PRIMARY KEY,
+    reference_id VARCHAR(50)   NOT NULL UNIQUE,
+    name         VARCHAR(255)  NOT NULL,
+    description  VARCHAR(1000),
+    category     VARCHAR(100),
+    status       VARCHAR(50),
+    metadata     TEXT,
+    created_at   TIMESTAMP     NOT NULL,
+    updated_at   TIMESTAMP
+);
+
+-- Keyset pagination on (created_at, id), with and without the common filters
+CREATE INDEX IF NOT EXISTS idx_data_entities_created_id ON data_entities (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_data_entities_category_created_id ON data_entities (category, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_data_entities_status_created_id ON data_entities (status, created_at, id);
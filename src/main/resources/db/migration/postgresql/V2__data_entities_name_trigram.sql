@@ -0,0 +1,4 @@
+-- Trigram index so ILIKE '%term%' name searches do not scan the table
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_data_entities_name_trgm ON data_entities USING gin (name gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Hand out ids in blocks of 50 (pooled-lo) so inserts can be batched.
+-- The column default is kept; a default nextval consumes a whole block for one row
+-- and never overlaps a block handed out to the application.
+ALTER SEQUENCE data_entities_id_seq INCREMENT BY 50;
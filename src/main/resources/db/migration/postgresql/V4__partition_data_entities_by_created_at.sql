@@ -0,0 +1,82 @@
+-- Rebuild data_entities as a table range-partitioned by month of created_at.
+-- Primary key and unique constraints on a partitioned table must include the
+-- partition key, so both carry created_at. Later partitions are created and old ones
+-- dropped by PartitionMaintenanceService.
+
+ALTER TABLE data_entities RENAME TO data_entities_unpartitioned;
+
+-- Keep the id sequence when the old table is dropped. A table Hibernate created before
+-- Flyway was baselined has an identity id column, whose sequence cannot be detached; it is
+-- replaced by a plain sequence with the same increment that continues after the highest id.
+DO $$
+DECLARE
+    increment_by BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1
+                 FROM pg_attribute
+                WHERE attrelid = 'data_entities_unpartitioned'::regclass
+                  AND attname = 'id'
+                  AND attidentity IN ('a', 'd')) THEN
+        SELECT seqincrement
+          INTO increment_by
+          FROM pg_sequence
+         WHERE seqrelid = pg_get_serial_sequence('data_entities_unpartitioned', 'id')::regclass;
+
+        -- Drops the identity sequence along with the identity
+        ALTER TABLE data_entities_unpartitioned ALTER COLUMN id DROP IDENTITY;
+        EXECUTE format('CREATE SEQUENCE data_entities_id_seq INCREMENT BY %s', increment_by);
+        PERFORM setval('data_entities_id_seq', COALESCE(MAX(id), 0) + 1, false)
+           FROM data_entities_unpartitioned;
+    ELSE
+        ALTER SEQUENCE data_entities_id_seq OWNED BY NONE;
+    END IF;
+END $$;
+
+CREATE TABLE data_entities (
+    id           BIGINT        NOT NULL DEFAULT nextval('data_entities_id_seq'),
+    reference_id VARCHAR(50)   NOT NULL,
+    name         VARCHAR(255)  NOT NULL,
+    description  VARCHAR(1000),
+    category     VARCHAR(100),
+    status       VARCHAR(50),
+    metadata     TEXT,
+    created_at   TIMESTAMP     NOT NULL,
+    updated_at   TIMESTAMP,
+    CONSTRAINT pk_data_entities PRIMARY KEY (id, created_at),
+    CONSTRAINT uk_data_entities_reference_id_created_at UNIQUE (reference_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE data_entities_id_seq OWNED BY data_entities.id;
+
+-- Rows outside every monthly partition land here instead of failing the insert
+CREATE TABLE data_entities_default PARTITION OF data_entities DEFAULT;
+
+-- Monthly partitions from the oldest existing row to three months ahead
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+    last_month  TIMESTAMP := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at)), date_trunc('month', now()))
+      INTO month_start
+      FROM data_entities_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE data_entities_p%s PARTITION OF data_entities FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO data_entities (id, reference_id, name, description, category, status, metadata, created_at, updated_at)
+SELECT id, reference_id, name, description, category, status, metadata, created_at, updated_at
+  FROM data_entities_unpartitioned;
+
+DROP TABLE data_entities_unpartitioned;
+
+-- Indexes on the parent are created on every partition, present and future
+CREATE INDEX idx_data_entities_created_id ON data_entities (created_at, id);
+CREATE INDEX idx_data_entities_category_created_id ON data_entities (category, created_at, id);
+CREATE INDEX idx_data_entities_status_created_id ON data_entities (status, created_at, id);
+CREATE INDEX idx_data_entities_reference_id ON data_entities (reference_id);
+CREATE INDEX idx_data_entities_name_trgm ON data_entities USING gin (name gin_trgm_ops);
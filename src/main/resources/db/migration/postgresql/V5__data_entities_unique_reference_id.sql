@@ -0,0 +1,47 @@
+-- One row per reference ID on the partitioned data_entities table. A unique constraint
+-- there must include created_at, so (reference_id, created_at) alone lets a write with
+-- a different created_at add a second row for an existing entity. The references table
+-- holds each reference ID once and is kept in step by triggers, so such an insert fails
+-- with a unique violation. PartitionMaintenanceService releases the references of the
+-- partitions it drops.
+
+-- Keep the most recently updated row of any reference ID that already has several
+DELETE FROM data_entities d
+ USING (SELECT id, created_at,
+               ROW_NUMBER() OVER (PARTITION BY reference_id
+                                  ORDER BY COALESCE(updated_at, created_at) DESC, id DESC) AS position
+          FROM data_entities) ranked
+ WHERE d.id = ranked.id
+   AND d.created_at = ranked.created_at
+   AND ranked.position > 1;
+
+CREATE TABLE data_entity_references (
+    reference_id VARCHAR(50) NOT NULL,
+    created_at   TIMESTAMP   NOT NULL,
+    CONSTRAINT pk_data_entity_references PRIMARY KEY (reference_id)
+);
+
+INSERT INTO data_entity_references (reference_id, created_at)
+SELECT reference_id, created_at
+  FROM data_entities;
+
+CREATE FUNCTION data_entities_claim_reference() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO data_entity_references (reference_id, created_at) VALUES (NEW.reference_id, NEW.created_at);
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE FUNCTION data_entities_release_reference() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM data_entity_references WHERE reference_id = OLD.reference_id AND created_at = OLD.created_at;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Row triggers on the parent apply to every partition, present and future
+CREATE TRIGGER trg_data_entities_claim_reference
+    AFTER INSERT ON data_entities
+    FOR EACH ROW EXECUTE FUNCTION data_entities_claim_reference();
+
+CREATE TRIGGER trg_data_entities_release_reference
+    AFTER DELETE ON data_entities
+    FOR EACH ROW EXECUTE FUNCTION data_entities_release_reference();
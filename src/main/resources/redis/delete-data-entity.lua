@@ -0,0 +1,34 @@
+-- Delete a DataEntity and remove it from the secondary indexes atomically.
+--
+-- KEYS[1] - data key (cloud-integration:data:<referenceId>)
+-- KEYS[2] - creation time index (sorted set)
+-- ARGV[1] - reference ID
+-- ARGV[2] - index key prefix (cloud-integration:index:)
+--
+-- Returns 1 if the entry existed, 0 otherwise.
+
+redis.call('ZREM', KEYS[2], ARGV[1])
+
+local raw = redis.call('GET', KEYS[1])
+if not raw then
+    return 0
+end
+
+-- Only the content line is needed; values without a header line are whole CacheData objects
+local split = string.find(raw, '\n', 1, true)
+local content
+if split then
+    content = cjson.decode(string.sub(raw, split + 1))
+else
+    content = cjson.decode(raw)['content']
+end
+if type(content) == 'table' then
+    if type(content['category']) == 'string' then
+        redis.call('SREM', ARGV[2] .. 'category:' .. content['category'], ARGV[1])
+    end
+    if type(content['status']) == 'string' then
+        redis.call('SREM', ARGV[2] .. 'status:' .. content['status'], ARGV[1])
+    end
+end
+
+return redis.call('DEL', KEYS[1])
@@ -0,0 +1,50 @@
+-- Read one page of the creation time index, newest first, continuing after an anchor.
+--
+-- KEYS[1] - creation time index (sorted set)
+-- ARGV[1] - anchor member (last reference ID of the previous page), '' for the first page
+-- ARGV[2] - anchor score, used with the anchor member as a (score, member) position when
+--           the anchor has been removed from the index
+-- ARGV[3] - page size
+--
+-- Returns a flat list of member, score pairs.
+
+-- Byte order, as Redis sorts members with equal scores; Lua's < follows the locale
+local function before(a, b)
+    for i = 1, math.min(#a, #b) do
+        local x, y = string.byte(a, i), string.byte(b, i)
+        if x ~= y then
+            return x < y
+        end
+    end
+    return #a < #b
+end
+
+local count = tonumber(ARGV[3])
+local start = 0
+
+if ARGV[1] ~= '' then
+    local rank = redis.call('ZREVRANK', KEYS[1], ARGV[1])
+    if not rank then
+        -- Continue from the (score, member) position the anchor had. Members sharing its
+        -- score come in reverse lexical order, so the ones after it sort below it.
+        local page = {}
+        local tied = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[2], ARGV[2], 'WITHSCORES')
+        for i = 1, #tied, 2 do
+            if #page < count * 2 and before(tied[i], ARGV[1]) then
+                table.insert(page, tied[i])
+                table.insert(page, tied[i + 1])
+            end
+        end
+        local remaining = count - #page / 2
+        if remaining > 0 then
+            local older = redis.call('ZREVRANGEBYSCORE', KEYS[1], '(' .. ARGV[2], '-inf', 'WITHSCORES', 'LIMIT', 0, remaining)
+            for _, item in ipairs(older) do
+                table.insert(page, item)
+            end
+        end
+        return page
+    end
+    start = rank + 1
+end
+
+return redis.call('ZREVRANGE', KEYS[1], start, start + count - 1, 'WITHSCORES')
@@ -0,0 +1,41 @@
+-- Change the TTL of a cached entry and its metadata, keeping the stored expiry in step.
+--
+-- KEYS[1] - data key (cloud-integration:data:{<referenceId>})
+-- KEYS[2] - metadata key (cloud-integration:metadata:{<referenceId>}), same hash slot
+-- ARGV[1] - TTL in seconds, 0 to remove the expiry
+-- ARGV[2] - new expires_at (yyyy-MM-ddTHH:mm:ss), '' when the TTL is removed
+--
+-- Returns 1 if the entry existed, 0 otherwise.
+
+local raw = redis.call('GET', KEYS[1])
+if not raw then
+    return 0
+end
+
+-- Values without a header line are whole CacheData objects; they are rewritten with one
+local header, content
+local split = string.find(raw, '\n', 1, true)
+if split then
+    header = cjson.decode(string.sub(raw, 1, split - 1))
+    content = string.sub(raw, split + 1)
+else
+    header = cjson.decode(raw)
+    content = cjson.encode(header['content'])
+    header['content'] = nil
+    header['expired'] = nil
+    header['remainingTtl'] = nil
+end
+
+local ttl = tonumber(ARGV[1])
+if ttl > 0 then
+    header['ttl_seconds'] = ttl
+    header['expires_at'] = ARGV[2]
+    redis.call('SET', KEYS[1], cjson.encode(header) .. '\n' .. content, 'EX', ttl)
+    redis.call('EXPIRE', KEYS[2], ttl)
+else
+    header['ttl_seconds'] = cjson.null
+    header['expires_at'] = cjson.null
+    redis.call('SET', KEYS[1], cjson.encode(header) .. '\n' .. content)
+    redis.call('PERSIST', KEYS[2])
+end
+return 1
@@ -0,0 +1,42 @@
+-- Store a DataEntity and register it in the secondary indexes atomically.
+--
+-- KEYS[1] - data key (cloud-integration:data:<referenceId>)
+-- KEYS[2] - creation time index (sorted set)
+-- ARGV[1] - encoded CacheData: header line, then the content
+-- ARGV[2] - TTL in seconds, 0 for no expiry
+-- ARGV[3] - reference ID
+-- ARGV[4] - creation time score (epoch millis)
+-- ARGV[5] - index key prefix (cloud-integration:index:)
+-- ARGV[6] - 'NX' to only store when the key does not exist yet, '' otherwise
+--
+-- Returns 1 if stored, 0 if skipped because of NX.
+
+-- Only the content line is needed for the indexes
+local split = string.find(ARGV[1], '\n', 1, true)
+local content = cjson.decode(string.sub(ARGV[1], split + 1))
+
+local args = {KEYS[1], ARGV[1]}
+local ttl = tonumber(ARGV[2])
+if ttl > 0 then
+    table.insert(args, 'EX')
+    table.insert(args, ttl)
+end
+if ARGV[6] == 'NX' then
+    table.insert(args, 'NX')
+end
+
+if not redis.call('SET', unpack(args)) then
+    return 0
+end
+
+if type(content) == 'table' then
+    if type(content['category']) == 'string' and content['category'] ~= '' then
+        redis.call('SADD', ARGV[5] .. 'category:' .. content['category'], ARGV[3])
+    end
+    if type(content['status']) == 'string' and content['status'] ~= '' then
+        redis.call('SADD', ARGV[5] .. 'status:' .. content['status'], ARGV[3])
+    end
+end
+
+redis.call('ZADD', KEYS[2], ARGV[4], ARGV[3])
+return 1
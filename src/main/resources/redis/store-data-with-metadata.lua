@@ -0,0 +1,27 @@
+-- Store an entry and its metadata atomically with the same TTL.
+--
+-- KEYS[1] - data key (cloud-integration:data:{<referenceId>})
+-- KEYS[2] - metadata key (cloud-integration:metadata:{<referenceId>}), same hash slot
+-- ARGV[1] - encoded CacheData: header line, then the content
+-- ARGV[2] - serialized metadata, '' to remove any previous metadata
+-- ARGV[3] - TTL in seconds, 0 for no expiry
+--
+-- Returns 1.
+
+local ttl = tonumber(ARGV[3])
+
+local function set(key, value)
+    if ttl > 0 then
+        redis.call('SET', key, value, 'EX', ttl)
+    else
+        redis.call('SET', key, value)
+    end
+end
+
+set(KEYS[1], ARGV[1])
+if ARGV[2] ~= '' then
+    set(KEYS[2], ARGV[2])
+else
+    redis.call('DEL', KEYS[2])
+end
+return 1
@@ -0,0 +1,84 @@
+-- Write a new value over a cached DataEntity, provided it is still at the version the
+-- value was prepared from. The caller merges the update into the content, encodes it and
+-- passes the indexed fields before and after, so this script only ever decodes header
+-- lines: it compares versions and keeps the category and status indexes in step.
+--
+-- KEYS[1]  - data key (cloud-integration:data:{<referenceId>})
+-- ARGV[1]  - version the new value was prepared from
+-- ARGV[2]  - new value: header line, then the content
+-- ARGV[3]  - TTL in seconds, 0 for no expiry, or -1 to keep the current TTL together with
+--            the stored ttl_seconds and expires_at
+-- ARGV[4]  - reference ID
+-- ARGV[5]  - index key prefix, or '' to leave index maintenance to the caller
+--            (Redis Cluster, where the index keys live in another hash slot)
+-- ARGV[6]  - category before the update, '' for none
+-- ARGV[7]  - status before the update, '' for none
+-- ARGV[8]  - category after the update, '' for none
+-- ARGV[9]  - status after the update, '' for none
+-- ARGV[10] - the value the new one was prepared from when it has no header line, else ''
+--
+-- Returns {status, payload}:
+--   {'UPDATED', <stored value>} value written
+--   {'NOT_FOUND', ''}           no entry for the key
+--   {'CONFLICT', <version>}     the entry was written since the value was prepared
+--   {'CONFLICT', ''}            as above, for a value without header line
+
+-- Decoded header line of a value and the position of the newline ending it
+local function header(value)
+    local split = string.find(value, '\n', 1, true)
+    if not split then
+        return nil, nil
+    end
+    return cjson.decode(string.sub(value, 1, split - 1)), split
+end
+
+local raw = redis.call('GET', KEYS[1])
+if not raw then
+    return {'NOT_FOUND', ''}
+end
+
+local current = header(raw)
+if current then
+    local version = tonumber(current['version']) or 0
+    if version ~= tonumber(ARGV[1]) then
+        return {'CONFLICT', tostring(version)}
+    end
+elseif raw ~= ARGV[10] then
+    -- Older single-object values are compared whole rather than decoded
+    return {'CONFLICT', ''}
+end
+
+local value = ARGV[2]
+local ttl = tonumber(ARGV[3])
+local args = {KEYS[1], value}
+if ttl < 0 then
+    if current then
+        -- A TTL change made since the value was prepared does not bump the version
+        local updated, split = header(value)
+        updated['ttl_seconds'] = current['ttl_seconds']
+        updated['expires_at'] = current['expires_at']
+        value = cjson.encode(updated) .. string.sub(value, split)
+    end
+    args = {KEYS[1], value, 'KEEPTTL'}
+elseif ttl > 0 then
+    args = {KEYS[1], value, 'EX', ttl}
+end
+redis.call('SET', unpack(args))
+
+-- Move the entity between index sets when an indexed field changed
+if ARGV[5] ~= '' then
+    for i, name in ipairs({'category', 'status'}) do
+        local old = ARGV[5 + i]
+        local new = ARGV[7 + i]
+        if old ~= new then
+            if old ~= '' then
+                redis.call('SREM', ARGV[5] .. name .. ':' .. old, ARGV[4])
+            end
+            if new ~= '' then
+                redis.call('SADD', ARGV[5] .. name .. ':' .. new, ARGV[4])
+            end
+        end
+    end
+end
+
+return {'UPDATED', value}
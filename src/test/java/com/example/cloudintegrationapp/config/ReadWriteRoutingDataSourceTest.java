@@ -0,0 +1,142 @@
+package com.example.cloudintegrationapp.config;
+
+import com.example.cloudintegrationapp.model.DataEntity;
+import com.example.cloudintegrationapp.repository.DataEntityJdbcRepository;
+import com.example.cloudintegrationapp.repository.DataEntityPartitionRepository;
+import com.example.cloudintegrationapp.repository.DataEntityRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Repository calls against a primary and a replica that are told apart by their data:
+ * the replica only has a stub data_entities table holding one row the primary lacks.
+ * Tests run outside a test transaction so each call picks its own route.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DataEntityJdbcRepository.class, DataEntityPartitionRepository.class})
+class ReadWriteRoutingDataSourceTest {
+    
+    private static final String REPLICA = "replica-0";
+    private static final String REPLICA_ONLY_CATEGORY = "replica-only";
+    
+    @Autowired
+    private DataEntityRepository dataEntityRepository;
+    
+    @Autowired
+    private DataEntityJdbcRepository dataEntityJdbcRepository;
+    
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    
+    @Test
+    void readOnlyQueriesGoToTheReplica() {
+        assertEquals(1, dataEntityRepository.countByCategory(REPLICA_ONLY_CATEGORY));
+    }
+    
+    @Test
+    void saveAndDeleteGoToThePrimary() {
+        DataEntity entity = dataEntityRepository.save(entity("ROUTE-SAVE"));
+        assertEquals(1, primaryRows("ROUTE-SAVE"));
+        
+        dataEntityRepository.delete(entity);
+        assertEquals(0, primaryRows("ROUTE-SAVE"));
+    }
+    
+    @Test
+    void deleteByReferenceIdGoesToThePrimary() {
+        dataEntityRepository.save(entity("ROUTE-DELETE"));
+        
+        dataEntityRepository.deleteByReferenceId("ROUTE-DELETE");
+        assertEquals(0, primaryRows("ROUTE-DELETE"));
+    }
+    
+    @Test
+    void writeBehindUpsertGoesToThePrimary() {
+        // WriteBehindService flushes through these calls without a transaction
+        DataEntity entity = entity("ROUTE-UPSERT");
+        entity.setCreatedAt(LocalDateTime.now());
+        dataEntityJdbcRepository.upsertBatch(List.of(entity), 10);
+        assertEquals(1, primaryRows("ROUTE-UPSERT"));
+        
+        dataEntityJdbcRepository.deleteBatch(List.of("ROUTE-UPSERT"), 10);
+        assertEquals(0, primaryRows("ROUTE-UPSERT"));
+    }
+    
+    private int primaryRows(String referenceId) {
+        Integer rows = new JdbcTemplate(primaryDataSource).queryForObject(
+            "SELECT COUNT(*) FROM data_entities WHERE reference_id = ?", Integer.class, referenceId);
+        return rows != null ? rows : 0;
+    }
+    
+    private static DataEntity entity(String referenceId) {
+        return new DataEntity(referenceId, "Routing " + referenceId, "Routing test entity");
+    }
+    
+    @TestConfiguration
+    static class RoutingConfig {
+        
+        @Bean
+        HikariDataSource primaryDataSource() {
+            return pool("routing-primary");
+        }
+        
+        @Bean
+        HikariDataSource replicaDataSource() {
+            HikariDataSource replica = pool("routing-replica");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS data_entities (id BIGINT PRIMARY KEY, category VARCHAR(100))");
+            jdbcTemplate.update("MERGE INTO data_entities KEY (id) VALUES (1, ?)", REPLICA_ONLY_CATEGORY);
+            return replica;
+        }
+        
+        @Bean
+        @Primary
+        DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            // Lag is measured with PostgreSQL functions, so report the replica as caught up
+            ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(Map.of(REPLICA, replicaDataSource), 5, meterRegistry) {
+                @Override
+                public boolean isHealthy(String key) {
+                    return true;
+                }
+            };
+            
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(List.of(REPLICA), lagMonitor,
+                meterRegistry.counter("replica"), meterRegistry.counter("primary_fallback"));
+            routing.setTargetDataSources(Map.<Object, Object>of(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource,
+                REPLICA, replicaDataSource));
+            routing.setDefaultTargetDataSource(primaryDataSource);
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+        
+        private static HikariDataSource pool(String name) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            return dataSource;
+        }
+    }
+}
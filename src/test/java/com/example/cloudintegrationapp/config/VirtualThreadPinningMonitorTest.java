@@ -0,0 +1,47 @@
+package com.example.cloudintegrationapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadPinningMonitorTest {
+    
+    private static final Object LOCK = new Object();
+    private static final String SITE = VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingLock:";
+    
+    @Test
+    void reportsFirstApplicationFrameAsPinningSite() throws Exception {
+        // From JDK 24 on, blocking inside synchronized no longer pins the carrier
+        assumeTrue(Runtime.version().feature() < 24);
+        
+        try (VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ZERO, new SimpleMeterRegistry())) {
+            // Events reach the stream asynchronously, and the first pinning may precede the recording
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!reported(monitor) && System.nanoTime() < deadline) {
+                Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepWhileHoldingLock).join();
+                Thread.sleep(200);
+            }
+            
+            assertTrue(reported(monitor), () -> "Reported sites: " + monitor.getReportedSites());
+        }
+    }
+    
+    private static boolean reported(VirtualThreadPinningMonitor monitor) {
+        return monitor.getReportedSites().stream().anyMatch(site -> site.startsWith(SITE));
+    }
+    
+    private static void sleepWhileHoldingLock() {
+        synchronized (LOCK) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.ApiResponse;
+import com.example.cloudintegrationapp.model.AsyncJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncJobServiceTest {
+    
+    private static final int MAX_CONCURRENT_JOBS = 2;
+    
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AsyncJobService asyncJobService = new AsyncJobService(MAX_CONCURRENT_JOBS);
+    
+    @BeforeEach
+    void setUp() {
+        RedisCacheService redisCacheService = mock(RedisCacheService.class);
+        when(redisCacheService.storeValue(anyString(), any(), anyLong())).thenReturn(true);
+        ReflectionTestUtils.setField(asyncJobService, "redisCacheService", redisCacheService);
+        ReflectionTestUtils.setField(asyncJobService, "referenceIdGenerator", new ReferenceIdGenerator());
+        ReflectionTestUtils.setField(asyncJobService, "dataJobExecutor", executor);
+        ReflectionTestUtils.setField(asyncJobService, "jobTtlSeconds", 60L);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        blocker.countDown();
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void cancellingQueuedJobRestoresItsPermit() throws Exception {
+        // The only executor thread is busy with the first job, so the second one stays queued
+        asyncJobService.submit("REF-1", "block", () -> {
+            blocker.await();
+            return ApiResponse.success("done", null);
+        }).orElseThrow();
+        AsyncJob queued = asyncJobService.submit("REF-2", "queued", () -> ApiResponse.success("done", null)).orElseThrow();
+        assertEquals(0, asyncJobService.getAvailablePermits());
+        
+        assertEquals(AsyncJob.State.CANCELLED, asyncJobService.cancel(queued.getJobId()).orElseThrow().getState());
+        assertEquals(1, asyncJobService.getAvailablePermits());
+        
+        blocker.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(MAX_CONCURRENT_JOBS, asyncJobService.getAvailablePermits());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.cloudintegrationapp.service;
+
+import com.example.cloudintegrationapp.model.CacheData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheDataCodecTest {
+    
+    private final CacheDataCodec codec = new CacheDataCodec(new ObjectMapper().findAndRegisterModules());
+    
+    @Test
+    void patchKeepsArraysNumbersAndOrderOfUntouchedFields() throws Exception {
+        String content = "{\"name\":\"old\",\"tags\":[],\"nested\":{\"items\":[]},"
+            + "\"count\":12345678901234567890,\"ratio\":0.12345678901234567890,\"price\":1.50}";
+        
+        String patched = codec.patch(value(3, content), header(4), Map.of("name", "new"));
+        
+        assertEquals("{\"name\":\"new\",\"tags\":[],\"nested\":{\"items\":[]},"
+            + "\"count\":12345678901234567890,\"ratio\":0.12345678901234567890,\"price\":1.50}", content(patched));
+        assertEquals(4L, codec.decodeHeader(patched).getVersion());
+    }
+    
+    @Test
+    void patchAddsNewFieldsAfterExistingOnes() throws Exception {
+        String patched = codec.patch(value(1, "{\"tags\":[],\"count\":9007199254740993}"), header(2),
+            Map.of("status", "ARCHIVED"));
+        
+        assertEquals("{\"tags\":[],\"count\":9007199254740993,\"status\":\"ARCHIVED\"}", content(patched));
+    }
+    
+    @Test
+    void patchWithoutFieldsKeepsContentBytes() throws Exception {
+        String content = "[1.0,[],{\"amount\":1e3,\"big\":123456789012345678901234567890}]";
+        
+        String patched = codec.patch(value(7, content), header(8), Collections.emptyMap());
+        
+        assertEquals(content, content(patched));
+        assertEquals(8L, codec.decodeHeader(patched).getVersion());
+    }
+    
+    @Test
+    void patchRejectsFieldsOnContentThatIsNotAnObject() throws Exception {
+        assertNull(codec.patch(value(1, "[{\"name\":\"a\"}]"), header(2), Map.of("name", "b")));
+        assertNull(codec.patch(value(1, "\"text\""), header(2), Map.of("name", "b")));
+    }
+    
+    @Test
+    void patchRewritesSingleObjectValuesWithHeaderLine() throws Exception {
+        String legacy = "{\"reference_id\":\"REF-1\",\"data_type\":\"DATA_ENTITY\",\"version\":2,"
+            + "\"content\":{\"name\":\"old\",\"tags\":[],\"count\":12345678901234567890}}";
+        
+        String patched = codec.patch(legacy, header(3), Map.of("name", "new"));
+        
+        assertEquals("{\"name\":\"new\",\"tags\":[],\"count\":12345678901234567890}", content(patched));
+        assertEquals(3L, codec.decodeHeader(patched).getVersion());
+    }
+    
+    @Test
+    void contentTextFieldsSkipsNestedAndNonTextValues() throws Exception {
+        String content = "{\"nested\":{\"category\":\"inner\"},\"tags\":[\"status\"],\"status\":1,"
+            + "\"category\":\"reports\",\"name\":\"a\"}";
+        
+        Map<String, String> fields = codec.contentTextFields(value(1, content), List.of("category", "status"));
+        
+        assertEquals(Map.of("category", "reports"), fields);
+    }
+    
+    @Test
+    void contentTextFieldsReadsSingleObjectValues() throws Exception {
+        String legacy = "{\"reference_id\":\"REF-1\",\"version\":2,"
+            + "\"content\":{\"category\":\"reports\",\"status\":\"ACTIVE\"}}";
+        
+        assertEquals(Map.of("category", "reports", "status", "ACTIVE"),
+            codec.contentTextFields(legacy, List.of("category", "status")));
+        assertEquals(Map.of(), codec.contentTextFields(value(1, "[\"reports\"]"), List.of("category")));
+    }
+    
+    private static CacheData header(long version) {
+        CacheData header = new CacheData();
+        header.setReferenceId("REF-1");
+        header.setDataType("DATA_ENTITY");
+        header.setVersion(version);
+        return header;
+    }
+    
+    private static String value(long version, String content) {
+        return "{\"reference_id\":\"REF-1\",\"data_type\":\"DATA_ENTITY\",\"version\":" + version + "}\n" + content;
+    }
+    
+    private static String content(String value) {
+        return value.substring(value.indexOf('\n') + 1);
+    }
+}